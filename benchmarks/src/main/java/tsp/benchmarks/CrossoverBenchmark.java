@@ -0,0 +1,52 @@
+package tsp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import tsp.crossover.Crossover;
+import tsp.crossover.OrderedCrossover;
+import tsp.crossover.PartitionCrossover;
+import tsp.evaluation.Path;
+import tsp.localsearch.TwoOpt;
+
+/**
+ * Croisements de l'algorithme génétique : OX (croisement historique de genetique) et GPX
+ * Les parents sont des optima locaux 2-opt, comme dans une population après quelques générations
+ */
+public class CrossoverBenchmark extends ProblemBenchmark
+{
+	private Crossover ordered;
+	private Crossover partition;
+	private int [] parent1;
+	private int [] parent2;
+	private int [] child;
+
+	@Setup
+	public void setup ()
+	{
+		this.load ();
+		int n = this.problem.getLength ();
+		TwoOpt twoOpt = new TwoOpt (this.problem);
+		this.parent1 = Path.getRandomPath (n, this.random);
+		this.parent2 = Path.getRandomPath (n, this.random);
+		twoOpt.optimize (this.parent1);
+		twoOpt.optimize (this.parent2);
+		this.child = new int [n];
+		this.ordered = new OrderedCrossover (n);
+		this.partition = new PartitionCrossover (this.problem);
+	}
+
+	@Benchmark
+	public int [] orderedCrossover ()
+	{
+		this.ordered.cross (this.parent1, 0, this.parent2, 0, this.child, this.random);
+		return this.child;
+	}
+
+	@Benchmark
+	public int [] partitionCrossover ()
+	{
+		this.partition.cross (this.parent1, 0, this.parent2, 0, this.child, this.random);
+		return this.child;
+	}
+}
@@ -0,0 +1,66 @@
+package tsp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Setup;
+
+import tsp.evaluation.Coordinates;
+
+/**
+ * Distance entre deux "villes" : Coordinates.distance (objets préalloués ou alloués à chaque appel)
+ * contre la matrice des distances (précalculée jusqu'à DistanceMatrix.MAX_PRECOMPUTED_LENGTH "villes")
+ * Les paires sont tirées au hasard : les accès à la matrice ne profitent pas de la localité
+ */
+@OperationsPerInvocation (DistanceBenchmark.NB_PAIRS)
+public class DistanceBenchmark extends ProblemBenchmark
+{
+	static final int NB_PAIRS = 1024;
+
+	private Coordinates [] coordinates;
+	private int [] from;
+	private int [] to;
+
+	@Setup
+	public void setup ()
+	{
+		this.load ();
+		int n = this.problem.getLength ();
+		this.coordinates = new Coordinates [n];
+		for (int i = 0; i < n; i++)
+			this.coordinates [i] = this.problem.getCoordinates (i);
+		this.from = new int [DistanceBenchmark.NB_PAIRS];
+		this.to = new int [DistanceBenchmark.NB_PAIRS];
+		for (int i = 0; i < DistanceBenchmark.NB_PAIRS; i++)
+		{
+			this.from [i] = this.random.nextInt (n);
+			this.to [i] = this.random.nextInt (n);
+		}
+	}
+
+	@Benchmark
+	public double coordinates ()
+	{
+		double sum = 0;
+		for (int i = 0; i < DistanceBenchmark.NB_PAIRS; i++)
+			sum += this.coordinates [this.from [i]].distance (this.coordinates [this.to [i]]);
+		return sum;
+	}
+
+	@Benchmark
+	public double allocatedCoordinates ()
+	{
+		double sum = 0;
+		for (int i = 0; i < DistanceBenchmark.NB_PAIRS; i++)
+			sum += this.problem.getCoordinates (this.from [i]).distance (this.problem.getCoordinates (this.to [i]));
+		return sum;
+	}
+
+	@Benchmark
+	public double matrix ()
+	{
+		double sum = 0;
+		for (int i = 0; i < DistanceBenchmark.NB_PAIRS; i++)
+			sum += this.problem.distance (this.from [i], this.to [i]);
+		return sum;
+	}
+}
@@ -0,0 +1,46 @@
+package tsp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import tsp.evaluation.Evaluation;
+import tsp.evaluation.Path;
+
+/**
+ * Évaluation d'un chemin complet : quickEvaluate, evaluate (sans amélioration, cas courant) et le noyau pathLength
+ */
+public class EvaluationBenchmark extends ProblemBenchmark
+{
+	private Evaluation evaluation;
+	private Path path;
+
+	/**
+	 * Évaluation sans observateur : aucun graphique ni trace
+	 */
+	@Setup
+	public void setup ()
+	{
+		this.load ();
+		this.evaluation = new Evaluation (this.problem, null);
+		this.path = new Path (Path.getRandomPath (this.problem.getLength (), this.random));
+		this.evaluation.evaluate (this.path);
+	}
+
+	@Benchmark
+	public double quickEvaluate ()
+	{
+		return this.evaluation.quickEvaluate (this.path);
+	}
+
+	@Benchmark
+	public double evaluate ()
+	{
+		return this.evaluation.evaluate (this.path);
+	}
+
+	@Benchmark
+	public double pathLength ()
+	{
+		return this.evaluation.pathLength (this.path.getPath ());
+	}
+}
@@ -0,0 +1,58 @@
+package tsp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import tsp.construction.GraspConstruction;
+import tsp.localsearch.LocalSearch;
+import tsp.localsearch.LocalSearchChain;
+import tsp.localsearch.OrOpt;
+import tsp.localsearch.TwoOpt;
+
+/**
+ * Recherche locale d'une fourmi de ColonieFourmisGRASP : 2-opt seul, puis 2-opt suivi de or-opt,
+ * depuis une tournée construite par GRASP (même α que la colonie)
+ * La tournée est reconstruite avant chaque appel, hors mesure
+ */
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+public class LocalSearchBenchmark extends ProblemBenchmark
+{
+	private static final double ALPHA_GRASP = 0.2;
+
+	private GraspConstruction construction;
+	private LocalSearch twoOpt;
+	private LocalSearch chain;
+	private int [] tour;
+
+	@Setup (Level.Trial)
+	public void setup ()
+	{
+		this.load ();
+		this.construction = new GraspConstruction (this.problem, LocalSearchBenchmark.ALPHA_GRASP);
+		this.twoOpt = new TwoOpt (this.problem);
+		this.chain = new LocalSearchChain (new TwoOpt (this.problem), new OrOpt (this.problem));
+		this.tour = new int [this.problem.getLength ()];
+	}
+
+	@Setup (Level.Invocation)
+	public void construct ()
+	{
+		this.construction.construct (this.tour, this.random);
+	}
+
+	@Benchmark
+	public double twoOpt ()
+	{
+		return this.twoOpt.optimize (this.tour);
+	}
+
+	@Benchmark
+	public double twoOptOrOpt ()
+	{
+		return this.chain.optimize (this.tour);
+	}
+}
@@ -0,0 +1,45 @@
+package tsp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import tsp.evaluation.Path;
+
+/**
+ * Copie d'un chemin (constructeur de copie, getCopyPath, clone du tableau) et génération d'un chemin aléatoire
+ */
+public class PathBenchmark extends ProblemBenchmark
+{
+	private Path path;
+
+	@Setup
+	public void setup ()
+	{
+		this.load ();
+		this.path = new Path (Path.getRandomPath (this.problem.getLength (), this.random));
+	}
+
+	@Benchmark
+	public Path copyConstructor ()
+	{
+		return new Path (this.path);
+	}
+
+	@Benchmark
+	public int [] copyPath ()
+	{
+		return this.path.getCopyPath ();
+	}
+
+	@Benchmark
+	public int [] cloneArray ()
+	{
+		return this.path.getPath ().clone ();
+	}
+
+	@Benchmark
+	public int [] randomPath ()
+	{
+		return Path.getRandomPath (this.problem.getLength (), this.random);
+	}
+}
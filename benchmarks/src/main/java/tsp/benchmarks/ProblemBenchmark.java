@@ -0,0 +1,46 @@
+package tsp.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tsp.evaluation.Problem;
+
+/**
+ * Paramètres communs aux benchmarks : un problème de data/ par taille (petit, moyen, grand)
+ * et une graine fixe pour que les chemins aléatoires soient les mêmes d'une exécution à l'autre
+ */
+@State (Scope.Thread)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.NANOSECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public abstract class ProblemBenchmark
+{
+	protected static final long SEED = 42;
+
+	@Param ({"bier127", "gr666", "pr2048"})
+	public String problemName;
+
+	protected Problem problem;
+	protected Random random;
+
+	/**
+	 * Charge le problème (à appeler dans la méthode @Setup des classes dérivées)
+	 */
+	protected void load ()
+	{
+		this.problem = Problem.getProblem (this.problemName);
+		this.random = new Random (ProblemBenchmark.SEED);
+	}
+}
@@ -0,0 +1,138 @@
+package tsp.aco;
+
+import tsp.evaluation.CandidateLists;
+import tsp.evaluation.Problem;
+
+/**
+ * Phéromones restreintes aux arêtes des listes de candidats : O(nk) en mémoire au lieu de O(n²)
+ * Les valeurs sont stockées à plat et multipliées par un facteur global : l'évaporation ne modifie
+ * que ce facteur (O(1)), les valeurs ne sont renormalisées que lorsqu'il devient trop petit
+ * Une arête hors des listes de candidats n'est jamais renforcée : sa valeur est la valeur initiale évaporée
+ */
+public final class CandidatePheromones
+{
+	private static final double MIN_SCALE = 1e-100;
+
+	private final CandidateLists candidates;
+	private final int size;
+	private final double [] values;
+	private double scale;
+	private double background;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 * @param initial Valeur initiale des phéromones sur toutes les arêtes
+	 */
+	public CandidatePheromones (Problem problem, double initial)
+	{
+		this.candidates = problem.getCandidateLists ();
+		this.size = this.candidates.getSize ();
+		this.values = new double [problem.getLength () * this.size];
+		this.reset (initial);
+	}
+
+	/**
+	 * Remet toutes les arêtes à la même valeur
+	 * @param value La valeur des phéromones
+	 */
+	public void reset (double value)
+	{
+		for (int i = 0; i < this.values.length; i++)
+			this.values [i] = value;
+		this.scale = 1;
+		this.background = value;
+	}
+
+	/**
+	 * @return Les listes de candidats sur lesquelles les phéromones sont stockées
+	 */
+	public CandidateLists getCandidateLists ()
+	{
+		return this.candidates;
+	}
+
+	/**
+	 * @param city L'indice d'une "ville"
+	 * @param rank Le rang d'un candidat de la "ville"
+	 * @return Les phéromones sur l'arête entre la "ville" et ce candidat
+	 */
+	public double get (int city, int rank)
+	{
+		return this.values [city * this.size + rank] * this.scale;
+	}
+
+	/**
+	 * @param i L'indice d'une "ville"
+	 * @param j L'indice d'une autre "ville"
+	 * @return Les phéromones sur l'arête (i, j), candidate ou non
+	 */
+	public double getEdge (int i, int j)
+	{
+		int rank = this.rank (i, j);
+		if (rank >= 0)
+			return this.get (i, rank);
+		rank = this.rank (j, i);
+		return rank < 0 ? this.background : this.get (j, rank);
+	}
+
+	private int rank (int city, int other)
+	{
+		for (int rank = 0; rank < this.size; rank++)
+			if (this.candidates.get (city, rank) == other)
+				return rank;
+		return -1;
+	}
+
+	/**
+	 * Évaporation de toutes les arêtes en O(1)
+	 * @param rate Taux d'évaporation
+	 */
+	public void evaporate (double rate)
+	{
+		this.scale *= 1 - rate;
+		this.background *= 1 - rate;
+		if (this.scale < CandidatePheromones.MIN_SCALE)
+			this.normalize ();
+	}
+
+	private void normalize ()
+	{
+		for (int i = 0; i < this.values.length; i++)
+			this.values [i] *= this.scale;
+		this.scale = 1;
+	}
+
+	/**
+	 * Dépôt sur l'arête (i, j) dans les deux sens (sans effet si elle n'est candidate pour aucune des deux "villes")
+	 * @param i L'indice d'une "ville"
+	 * @param j L'indice d'une autre "ville"
+	 * @param amount Quantité déposée
+	 */
+	public void deposit (int i, int j, double amount)
+	{
+		double value = amount / this.scale;
+		int rank = this.rank (i, j);
+		if (rank >= 0)
+			this.values [i * this.size + rank] += value;
+		rank = this.rank (j, i);
+		if (rank >= 0)
+			this.values [j * this.size + rank] += value;
+	}
+
+	/**
+	 * Borne les phéromones de toutes les arêtes (MAX-MIN Ant System)
+	 * @param min Valeur minimale
+	 * @param max Valeur maximale
+	 */
+	public void clamp (double min, double max)
+	{
+		double low = min / this.scale, high = max / this.scale;
+		for (int i = 0; i < this.values.length; i++)
+			if (this.values [i] < low)
+				this.values [i] = low;
+			else if (this.values [i] > high)
+				this.values [i] = high;
+		this.background = Math.min (Math.max (this.background, min), max);
+	}
+}
@@ -1,12 +1,16 @@
 package tsp.autres.hillClimbing.fourmis;
-import tsp.evaluation.Coordinates;
+import tsp.aco.CandidatePheromones;
+import tsp.evaluation.CandidateLists;
 import tsp.evaluation.Evaluation;
 import tsp.evaluation.Path;
 import tsp.projects.CompetitorProject;
 import tsp.projects.InvalidProjectException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 public class ColonieFourmis extends CompetitorProject {
     private static final int NB_FOURMIS = 50;
@@ -18,8 +22,15 @@ public class ColonieFourmis extends CompetitorProject {
     private static final double PHEROMONE_INITIAL = 0.1;
 
     private Random random;
+    // Générateur maître : chaque fourmi reçoit à chaque itération un générateur dérivé,
+    // dans l'ordre des fourmis, pour que les exécutions à graine fixée soient reproductibles
+    private SplittableRandom generateur;
+    private ThreadLocal<boolean[]> visites;
+    // Tableaux de probabilités réutilisés par chaque thread (parcours complet, plus proches voisins)
+    private ThreadLocal<double[]> probabilitesCompletes;
+    private ThreadLocal<double[]> probabilitesVoisines;
     private Evaluation evaluation;
-    private double[][] pheromones;
+    private CandidatePheromones pheromones;
     private Path meilleurChemin;
     private double meilleureDistance;
 
@@ -29,24 +40,25 @@ public class ColonieFourmis extends CompetitorProject {
         this.addAuthor("Emma Houver");
         this.setMethodName("Colonie de fourmis");
         this.evaluation = evaluation;
-        this.random = new Random();
     }
 
     @Override
     public void initialization() {
         int nbVilles = this.problem.getLength();
+        this.random = new Random(this.getSeed());
+        this.generateur = new SplittableRandom(this.getSeed());
+        this.visites = ThreadLocal.withInitial(() -> new boolean[nbVilles]);
+        this.probabilitesCompletes = ThreadLocal.withInitial(() -> new double[nbVilles]);
+        int nbVoisins = this.problem.getCandidateLists().getSize();
+        this.probabilitesVoisines = ThreadLocal.withInitial(() -> new double[nbVoisins]);
         initialiserPheromones(nbVilles);
-        this.meilleurChemin = new Path(nbVilles);
+        this.meilleurChemin = new Path(Path.getRandomPath(nbVilles, this.random));
         this.meilleureDistance = Double.MAX_VALUE;
     }
 
     private void initialiserPheromones(int nbVilles) {
-        pheromones = new double[nbVilles][nbVilles];
-        for (int i = 0; i < nbVilles; i++) {
-            for (int j = 0; j < nbVilles; j++) {
-                pheromones[i][j] = PHEROMONE_INITIAL;
-            }
-        }
+        // Phéromones restreintes aux plus proches voisins : O(n.k) en mémoire et en temps par itération
+        pheromones = new CandidatePheromones(this.problem, PHEROMONE_INITIAL);
     }
 
     @Override
@@ -54,12 +66,24 @@ public class ColonieFourmis extends CompetitorProject {
         int nbVilles = this.problem.getLength();
 
         for (int iteration = 0; iteration < NB_ITERATIONS; iteration++) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
             ArrayList<Path> cheminsFourmis = new ArrayList<>();
             ArrayList<Double> distancesFourmis = new ArrayList<>();
 
-            // Chaque fourmi construit son chemin
+            // Les fourmis construisent leur chemin en parallèle (elles ne lisent que les phéromones)
+            SplittableRandom[] generateurs = new SplittableRandom[NB_FOURMIS];
             for (int fourmi = 0; fourmi < NB_FOURMIS; fourmi++) {
-                CheminEtDistance resultat = construireChemin(nbVilles);
+                generateurs[fourmi] = this.generateur.split();
+            }
+            CheminEtDistance[] resultats = new CheminEtDistance[NB_FOURMIS];
+            IntStream.range(0, NB_FOURMIS).parallel()
+                    .forEach(fourmi -> resultats[fourmi] = construireChemin(nbVilles, generateurs[fourmi]));
+
+            // Mise en commun dans l'ordre des fourmis
+            for (int fourmi = 0; fourmi < NB_FOURMIS; fourmi++) {
+                CheminEtDistance resultat = resultats[fourmi];
                 cheminsFourmis.add(resultat.chemin);
                 distancesFourmis.add(resultat.distance);
 
@@ -81,9 +105,10 @@ public class ColonieFourmis extends CompetitorProject {
         this.evaluation.evaluate(this.meilleurChemin);
     }
 
-    private CheminEtDistance construireChemin(int nbVilles) {
+    private CheminEtDistance construireChemin(int nbVilles, SplittableRandom random) {
         int[] chemin = new int[nbVilles];
-        boolean[] visite = new boolean[nbVilles];
+        boolean[] visite = this.visites.get();
+        Arrays.fill(visite, false);
 
         // Ville de départ aléatoire
         int villeCourante = random.nextInt(nbVilles);
@@ -92,25 +117,31 @@ public class ColonieFourmis extends CompetitorProject {
 
         // Construction du chemin
         for (int etape = 1; etape < nbVilles; etape++) {
-            int villeSuivante = choisirVilleSuivante(villeCourante, visite);
+            int villeSuivante = choisirVilleSuivante(villeCourante, visite, random);
             chemin[etape] = villeSuivante;
             visite[villeSuivante] = true;
             villeCourante = villeSuivante;
         }
 
         Path path = new Path(chemin);
-        double distance = this.evaluation.quickEvaluate(path);
+        double distance = this.evaluation.pathLength(chemin);
         return new CheminEtDistance(path, distance);
     }
 
-    private int choisirVilleSuivante(int villeCourante, boolean[] visite) {
-        double[] probabilites = new double[visite.length];
+    private int choisirVilleSuivante(int villeCourante, boolean[] visite, SplittableRandom random) {
+        int villeVoisine = choisirVilleVoisine(villeCourante, visite, random);
+        if (villeVoisine != -1) {
+            return villeVoisine;
+        }
+
+        // Tous les plus proches voisins sont visités : parcours complet
+        double[] probabilites = this.probabilitesCompletes.get();
         double somme = 0.0;
 
         // Calcul des probabilités
         for (int ville = 0; ville < visite.length; ville++) {
             if (!visite[ville]) {
-                double pheromone = Math.pow(pheromones[villeCourante][ville], ALPHA);
+                double pheromone = Math.pow(pheromones.getEdge(villeCourante, ville), ALPHA);
                 double visibilite = Math.pow(1.0 / calculerDistance(villeCourante, ville), BETA);
                 probabilites[ville] = pheromone * visibilite;
                 somme += probabilites[ville];
@@ -139,12 +170,43 @@ public class ColonieFourmis extends CompetitorProject {
         return -1;
     }
 
-    private void evaporerPheromones(int nbVilles) {
-        for (int i = 0; i < nbVilles; i++) {
-            for (int j = 0; j < nbVilles; j++) {
-                pheromones[i][j] *= (1.0 - TAUX_EVAPORATION);
+    // Choix aléatoire pondéré restreint aux plus proches voisins non visités (-1 s'il n'y en a aucun)
+    private int choisirVilleVoisine(int villeCourante, boolean[] visite, SplittableRandom random) {
+        CandidateLists voisins = this.problem.getCandidateLists();
+        double[] probabilites = this.probabilitesVoisines.get();
+        double somme = 0.0;
+
+        for (int rang = 0; rang < voisins.getSize(); rang++) {
+            int ville = voisins.get(villeCourante, rang);
+            if (!visite[ville]) {
+                double pheromone = Math.pow(pheromones.get(villeCourante, rang), ALPHA);
+                double visibilite = Math.pow(1.0 / calculerDistance(villeCourante, ville), BETA);
+                probabilites[rang] = pheromone * visibilite;
+                somme += probabilites[rang];
             }
         }
+        if (somme == 0.0) {
+            return -1;
+        }
+
+        double valeurAleatoire = random.nextDouble() * somme;
+        double sommePartielle = 0.0;
+        int derniere = -1;
+        for (int rang = 0; rang < voisins.getSize(); rang++) {
+            int ville = voisins.get(villeCourante, rang);
+            if (!visite[ville]) {
+                derniere = ville;
+                sommePartielle += probabilites[rang];
+                if (sommePartielle >= valeurAleatoire) {
+                    return ville;
+                }
+            }
+        }
+        return derniere;
+    }
+
+    private void evaporerPheromones(int nbVilles) {
+        pheromones.evaporate(TAUX_EVAPORATION);
     }
 
     private void deposerPheromones(ArrayList<Path> chemins, ArrayList<Double> distances) {
@@ -158,22 +220,18 @@ public class ColonieFourmis extends CompetitorProject {
             for (int i = 0; i < villes.length - 1; i++) {
                 int villeA = villes[i];
                 int villeB = villes[i + 1];
-                pheromones[villeA][villeB] += quantitePheromones;
-                pheromones[villeB][villeA] += quantitePheromones;
+                pheromones.deposit(villeA, villeB, quantitePheromones);
             }
 
             // Boucler entre la dernière ville et la première
             int derniereVille = villes[villes.length - 1];
             int premiereVille = villes[0];
-            pheromones[derniereVille][premiereVille] += quantitePheromones;
-            pheromones[premiereVille][derniereVille] += quantitePheromones;
+            pheromones.deposit(derniereVille, premiereVille, quantitePheromones);
         }
     }
 
     private double calculerDistance(int ville1, int ville2) {
-        Coordinates c1 = this.problem.getCoordinates(ville1);
-        Coordinates c2 = this.problem.getCoordinates(ville2);
-        return c1.distance(c2);
+        return this.problem.distance(ville1, ville2);
     }
 
     // Classe interne pour stocker un chemin et sa distance
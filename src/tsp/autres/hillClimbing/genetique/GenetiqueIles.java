@@ -0,0 +1,132 @@
+package tsp.autres.hillClimbing.genetique;
+
+import tsp.evaluation.Evaluation;
+import tsp.evaluation.Path;
+import tsp.projects.CompetitorProject;
+import tsp.projects.InvalidProjectException;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Algorithme génétique en îles : chaque île fait évoluer sa propre population sur son propre thread,
+// et envoie régulièrement des copies de ses meilleurs individus à ses voisines.
+// L'évaluation est partagée par toutes les îles et garde la meilleure solution globale.
+public class GenetiqueIles extends CompetitorProject {
+
+    enum Topologie {
+        ANNEAU, // chaque île envoie à la suivante
+        ETOILE  // les îles envoient à l'île 0, qui envoie à toutes les autres
+    }
+
+    private static final int NB_ILES = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int INTERVALLE_MIGRATION = 10; // en générations
+    private static final int NB_MIGRANTS = 2;
+    private static final Topologie TOPOLOGIE = Topologie.ANNEAU;
+//    private static final Topologie TOPOLOGIE = Topologie.ETOILE;
+
+    private Ile[] iles;
+    // Canaux de migration sans verrou : une boîte aux lettres par île
+    private ArrayList<ConcurrentLinkedQueue<Path>> boites;
+    private Thread[] threads;
+
+    public GenetiqueIles(Evaluation evaluation) throws InvalidProjectException {
+        super(evaluation);
+        this.addAuthor("Mohamed Krouchi");
+        this.addAuthor("Emma Houver");
+        this.setMethodName("Génétique en îles");
+    }
+
+    @Override
+    public void initialization() {
+        Random random = new Random(this.getSeed());
+        iles = new Ile[NB_ILES];
+        boites = new ArrayList<>();
+        threads = new Thread[NB_ILES];
+        for (int i = 0; i < NB_ILES; i++) {
+            iles[i] = new Ile(this.problem, this.evaluation, new Random(random.nextLong()));
+            boites.add(new ConcurrentLinkedQueue<>());
+        }
+        for (int i = 0; i < NB_ILES; i++) {
+            final int numero = i;
+            threads[i] = new Thread(() -> evoluer(numero), "Ile " + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    private void evoluer(int numero) {
+        Ile ile = iles[numero];
+        ile.initialiser();
+        int generation = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            // Accueillir les migrants reçus depuis la dernière génération
+            Path migrant;
+            while ((migrant = boites.get(numero).poll()) != null) {
+                ile.accueillir(migrant);
+            }
+
+            ile.generation(generation % Ile.NB_GENERATION);
+            generation++;
+
+            if (generation % INTERVALLE_MIGRATION == 0) {
+                for (int destination : destinations(numero)) {
+                    boites.get(destination).addAll(ile.elites(NB_MIGRANTS));
+                }
+            }
+        }
+    }
+
+    private int[] destinations(int numero) {
+        if (TOPOLOGIE == Topologie.ANNEAU) {
+            return new int[] { (numero + 1) % NB_ILES };
+        }
+        if (numero != 0) {
+            return new int[] { 0 };
+        }
+        int[] destinations = new int[NB_ILES - 1];
+        for (int i = 1; i < NB_ILES; i++) {
+            destinations[i - 1] = i;
+        }
+        return destinations;
+    }
+
+    @Override
+    public void run() {
+        try {
+            super.run();
+        } finally {
+            // Fin du temps imparti : les îles sont arrêtées avant que le projet ne rende la main,
+            // pour qu'aucune évaluation n'arrive après la lecture de la solution
+            if (threads != null) {
+                for (Thread thread : threads) {
+                    if (thread != null) {
+                        thread.interrupt();
+                    }
+                }
+                boolean interrompu = false;
+                for (Thread thread : threads) {
+                    while (thread != null && thread.isAlive()) {
+                        try {
+                            thread.join();
+                        } catch (InterruptedException e) {
+                            interrompu = true;
+                        }
+                    }
+                }
+                if (interrompu) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void loop() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package tsp.autres.hillClimbing.genetique;
+
+import tsp.crossover.Crossover;
+import tsp.crossover.OrderedCrossover;
+import tsp.crossover.PartitionCrossover;
+import tsp.evaluation.Coordinates;
+import tsp.evaluation.Evaluation;
+import tsp.evaluation.Path;
+import tsp.evaluation.Problem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+// Une population et ses opérateurs génétiques : utilisée seule par genetique,
+// ou plusieurs fois (une par thread) par le modèle en îles
+class Ile {
+
+    static final int NB_INDIVIDUS = 50;
+    static final int NB_GENERATION = 100;
+    private static final double MUTATION_RATE = 0.2;
+    // Opérateur de croisement : partition (GPX) ou ordonné (OX)
+    private static final boolean CROISEMENT_GPX = true;
+//    private static final boolean CROISEMENT_GPX = false;
+
+    private final Problem problem;
+    private final Evaluation evaluation;
+    private final Random random;
+    private int length;
+    // Population stockée à plat : l'individu i occupe les cases [i * length, (i + 1) * length[
+    // Deux tableaux alloués une fois pour toutes, échangés à chaque génération
+    private int[] population;
+    private int[] newPopulation;
+    // Évaluation de chaque individu, calculée une seule fois à son entrée dans la population
+    private double[] scores;
+    private double[] newScores;
+    private int[] ordre;
+    // Tampon de construction d'un enfant, réutilisé (evaluate ne copie le chemin qu'en cas d'amélioration)
+    private int[] enfant;
+    private Path cheminEnfant;
+    private Crossover operateurCroisement;
+    private int[] bestPath;
+    private double bestScore;
+
+    Ile(Problem problem, Evaluation evaluation, Random random) {
+        this.problem = problem;
+        this.evaluation = evaluation;
+        this.random = random;
+    }
+
+    void initialiser() {
+        int length = this.problem.getLength();
+        this.length = length;
+        population = new int[NB_INDIVIDUS * length];
+        newPopulation = new int[NB_INDIVIDUS * length];
+        scores = new double[NB_INDIVIDUS];
+        newScores = new double[NB_INDIVIDUS];
+        ordre = new int[NB_INDIVIDUS];
+        enfant = new int[length];
+        cheminEnfant = new Path(enfant);
+        operateurCroisement = CROISEMENT_GPX ? new PartitionCrossover(problem) : new OrderedCrossover(length);
+        bestPath = new int[length];
+        bestScore = Double.MAX_VALUE;
+
+        // Génération de la population initiale avec différentes méthodes
+        for (int i = 0; i < NB_INDIVIDUS; i++) {
+            Path chemin;
+            if (i < NB_INDIVIDUS * 0.7) {
+                chemin = genererCheminPlusProcheV2(length); // 70% avec méthode améliorée
+            } else if (i < NB_INDIVIDUS * 0.9) {
+                chemin = genererCheminAleatoire(length); // 20% aléatoires
+            } else {
+                chemin = genererCheminPlusProcheDepuisCentre(length); // 10% depuis le centre
+            }
+            System.arraycopy(chemin.getPath(), 0, population, i * length, length);
+            scores[i] = fitness(chemin);
+            nouveauMeilleur(i);
+        }
+    }
+
+    private Path genererCheminPlusProcheV2(int length) {
+        int[] path = new int[length];
+        boolean[] visited = new boolean[length];
+        int current = random.nextInt(length);
+        path[0] = current;
+        visited[current] = true;
+
+        for (int i = 1; i < length; i++) {
+            // Trouver les 5 plus proches voisins non visités
+            ArrayList<Integer> meilleursVoisins = new ArrayList<>();
+            ArrayList<Double> distances = new ArrayList<>();
+
+            for (int j = 0; j < length; j++) {
+                if (!visited[j]) {
+                    double distance = calculerDistance(current, j);
+                    if (meilleursVoisins.size() < 5) {
+                        meilleursVoisins.add(j);
+                        distances.add(distance);
+                    } else {
+                        double maxDistance = Collections.max(distances);
+                        if (distance < maxDistance) {
+                            int index = distances.indexOf(maxDistance);
+                            meilleursVoisins.set(index, j);
+                            distances.set(index, distance);
+                        }
+                    }
+                }
+            }
+
+            // Choisir aléatoirement parmi les 5 meilleurs
+            current = meilleursVoisins.get(random.nextInt(meilleursVoisins.size()));
+            path[i] = current;
+            visited[current] = true;
+        }
+
+        return new Path(path);
+    }
+
+    private Path genererCheminAleatoire(int length) {
+        ArrayList<Integer> villes = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            villes.add(i);
+        }
+        Collections.shuffle(villes, random);
+        int[] path = new int[length];
+        for (int i = 0; i < length; i++) {
+            path[i] = villes.get(i);
+        }
+        return new Path(path);
+    }
+
+    private Path genererCheminPlusProcheDepuisCentre(int length) {
+        int[] path = new int[length];
+        boolean[] visited = new boolean[length];
+
+        // Trouver la ville la plus centrale
+        int villeCentrale = trouverVilleCentrale(length);
+        path[0] = villeCentrale;
+        visited[villeCentrale] = true;
+
+        // Utiliser l'approche du plus proche voisin depuis le centre
+        int current = villeCentrale;
+        for (int i = 1; i < length; i++) {
+            int meilleurVoisin = -1;
+            double distanceMin = Double.MAX_VALUE;
+
+            for (int j = 0; j < length; j++) {
+                if (!visited[j]) {
+                    double distance = calculerDistance(current, j);
+                    if (distance < distanceMin) {
+                        distanceMin = distance;
+                        meilleurVoisin = j;
+                    }
+                }
+            }
+
+            path[i] = meilleurVoisin;
+            visited[meilleurVoisin] = true;
+            current = meilleurVoisin;
+        }
+
+        return new Path(path);
+    }
+
+    private int trouverVilleCentrale(int length) {
+        Coordinates centre = calculerCentreGeometrique(length);
+        int villeCentrale = 0;
+        double distanceMin = Double.MAX_VALUE;
+
+        for (int i = 0; i < length; i++) {
+            Coordinates c = this.problem.getCoordinates(i);
+            double distance = c.distance(centre);
+            if (distance < distanceMin) {
+                distanceMin = distance;
+                villeCentrale = i;
+            }
+        }
+        return villeCentrale;
+    }
+
+    private Coordinates calculerCentreGeometrique(int length) {
+        double x = 0, y = 0;
+        for (int i = 0; i < length; i++) {
+            Coordinates c = this.problem.getCoordinates(i);
+            x += c.getX();
+            y += c.getY();
+        }
+        return new Coordinates(x / length, y / length);
+    }
+
+    private double calculerDistance(int ville1, int ville2) {
+        return this.problem.distance(ville1, ville2);
+    }
+
+    // Mutation de l'enfant en construction
+    private void mutation() {
+        int[] newPath = enfant;
+        double mutationChoice = random.nextDouble();
+
+        if (mutationChoice < 0.4) {
+            // Swap mutation
+            int i = random.nextInt(newPath.length);
+            int j = random.nextInt(newPath.length);
+            int temp = newPath[i];
+            newPath[i] = newPath[j];
+            newPath[j] = temp;
+        } else if (mutationChoice < 0.8) {
+            // Inversion mutation
+            int i = random.nextInt(newPath.length);
+            int j = random.nextInt(newPath.length);
+            if (i > j) {
+                int temp = i;
+                i = j;
+                j = temp;
+            }
+            while (i < j) {
+                int temp = newPath[i];
+                newPath[i] = newPath[j];
+                newPath[j] = temp;
+                i++;
+                j--;
+            }
+        } else {
+            // Déplacement mutation
+            int i = random.nextInt(newPath.length);
+            int j = random.nextInt(newPath.length);
+            int ville = newPath[i];
+            if (i < j) {
+                System.arraycopy(newPath, i+1, newPath, i, j-i);
+            } else {
+                System.arraycopy(newPath, j, newPath, j+1, i-j);
+            }
+            newPath[j] = ville;
+        }
+    }
+
+    // Croisement des individus parent1 et parent2, dans le tampon de l'enfant
+    private void croisement(int parent1, int parent2) {
+        operateurCroisement.cross(population, parent1 * length, population, parent2 * length, enfant, random);
+    }
+
+    private double fitness(Path path) {
+        return this.evaluation.evaluate(path);
+    }
+
+    private void copierDansEnfant(int individu) {
+        System.arraycopy(population, individu * length, enfant, 0, length);
+    }
+
+    // Indices de la population, du meilleur au pire individu (tri par insertion, sans allocation)
+    private void trier() {
+        for (int i = 0; i < NB_INDIVIDUS; i++) {
+            int individu = i;
+            int j = i;
+            while (j > 0 && scores[ordre[j - 1]] > scores[individu]) {
+                ordre[j] = ordre[j - 1];
+                j--;
+            }
+            ordre[j] = individu;
+        }
+    }
+
+    private int selection() {
+        // Sélection par tournoi avec taille dynamique
+        int tournoiSize = Math.max(2, (int)(NB_INDIVIDUS * 0.1));
+        int best = random.nextInt(NB_INDIVIDUS);
+
+        for (int i = 1; i < tournoiSize; i++) {
+            int challenger = random.nextInt(NB_INDIVIDUS);
+            if (scores[challenger] < scores[best]) {
+                best = challenger;
+            }
+        }
+        return best;
+    }
+
+    // Une génération : élitisme, sélection, croisement et mutation
+    void generation(int generation) {
+        // Trier la population par fitness
+        trier();
+
+        // Élitisme - garder les 10% meilleurs
+        int eliteSize = Math.max(1, (int)(NB_INDIVIDUS * 0.1));
+        for (int i = 0; i < eliteSize; i++) {
+            newScores[i] = scores[ordre[i]];
+            System.arraycopy(population, ordre[i] * length, newPopulation, i * length, length);
+        }
+
+        // Remplir le reste de la population
+        for (int taille = eliteSize; taille < NB_INDIVIDUS; taille++) {
+            int parent1 = selection();
+            int parent2 = selection();
+
+            // 10% de chance de faire une mutation sans croisement
+            if (random.nextDouble() < 0.1) {
+                copierDansEnfant(parent1);
+                mutation();
+                newScores[taille] = fitness(cheminEnfant);
+            } else {
+                // Croisement seulement si les parents sont différents
+                boolean modifie = parent1 != parent2;
+                if (modifie) {
+                    croisement(parent1, parent2);
+                } else {
+                    copierDansEnfant(parent1);
+                }
+
+                // Mutation adaptative
+                double adaptiveRate = MUTATION_RATE * (1 - (double)generation/NB_GENERATION);
+                if (random.nextDouble() < adaptiveRate) {
+                    mutation();
+                    modifie = true;
+                }
+
+                newScores[taille] = modifie ? fitness(cheminEnfant) : scores[parent1];
+            }
+            System.arraycopy(enfant, 0, newPopulation, taille * length, length);
+        }
+
+        int[] tmp = population;
+        population = newPopulation;
+        newPopulation = tmp;
+        double[] tmpScores = scores;
+        scores = newScores;
+        newScores = tmpScores;
+
+        // Mettre à jour le meilleur chemin global
+        for (int i = 0; i < NB_INDIVIDUS; i++) {
+            nouveauMeilleur(i);
+        }
+    }
+
+    private void nouveauMeilleur(int individu) {
+        if (scores[individu] < bestScore) {
+            bestScore = scores[individu];
+            System.arraycopy(population, individu * length, bestPath, 0, length);
+        }
+    }
+
+    // Copies des meilleurs individus (pour la migration)
+    ArrayList<Path> elites(int nombre) {
+        trier();
+        ArrayList<Path> elites = new ArrayList<>();
+        for (int i = 0; i < nombre && i < NB_INDIVIDUS; i++) {
+            elites.add(new Path(Arrays.copyOfRange(population, ordre[i] * length, (ordre[i] + 1) * length)));
+        }
+        return elites;
+    }
+
+    // Un migrant remplace le pire individu de la population
+    void accueillir(Path migrant) {
+        int pire = 0;
+        for (int i = 1; i < NB_INDIVIDUS; i++) {
+            if (scores[i] > scores[pire]) {
+                pire = i;
+            }
+        }
+        double score = fitness(migrant);
+        if (score < scores[pire]) {
+            System.arraycopy(migrant.getPath(), 0, population, pire * length, length);
+            scores[pire] = score;
+            nouveauMeilleur(pire);
+        }
+    }
+
+    Path getBestPath() {
+        return new Path(bestPath.clone());
+    }
+}
@@ -15,6 +15,7 @@ public class HillClimbing extends DemoProject
 {
 	private Random random;
 	private Path path;
+	private double current;
 
 	/**
 	 * Méthode d'évaluation de la solution
@@ -31,28 +32,24 @@ public class HillClimbing extends DemoProject
 	@Override
 	public void initialization ()
 	{
-		this.random = new Random ();
-		this.path = new Path (this.problem.getLength ());
-		this.evaluation.evaluate (this.path);
-	}
-
-	private Path transform (Path path)
-	{
-		int [] res = path.getCopyPath ();
-		int i = this.random.nextInt (res.length);
-		int j = this.random.nextInt (res.length);
-		int tmp = res [i];
-		res [i] = res [j];
-		res [j] = tmp;
-		return new Path (res);
+		this.random = new Random (this.getSeed ());
+		this.path = new Path (Path.getRandomPath (this.problem.getLength (), this.random));
+		this.current = this.evaluation.evaluate (this.path);
 	}
 
 	@Override
 	public void loop ()
 	{
-		Path path = this.transform (this.path);
-		double evaluation = this.evaluation.evaluate(path);
-		if (evaluation < this.evaluation.getBestEvaluation())
-			this.path = path;
+		int [] res = this.path.getPath ();
+		int i = this.random.nextInt (res.length);
+		int j = this.random.nextInt (res.length);
+		double delta = this.evaluation.swapDelta (res, i, j);
+		if (this.current + delta < this.evaluation.getBestEvaluation ())
+		{
+			int tmp = res [i];
+			res [i] = res [j];
+			res [j] = tmp;
+			this.current = this.evaluation.commitMove (this.path, this.current, delta);
+		}
 	}
 }
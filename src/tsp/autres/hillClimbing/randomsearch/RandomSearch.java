@@ -1,5 +1,7 @@
 package tsp.autres.hillClimbing.randomsearch;
 
+import java.util.Random;
+
 import tsp.evaluation.Evaluation;
 import tsp.evaluation.Path;
 import tsp.projects.InvalidProjectException;
@@ -12,6 +14,7 @@ import tsp.projects.DemoProject;
 public class RandomSearch extends DemoProject
 {
 	private int length;
+	private Random random;
 
 	/**
 	 * Méthode d'évaluation de la solution
@@ -29,14 +32,15 @@ public class RandomSearch extends DemoProject
 	public void initialization ()
 	{
 		this.length = this.problem.getLength ();
-		Path path = new Path (this.length);
+		this.random = new Random (this.getSeed ());
+		Path path = new Path (Path.getRandomPath (this.length, this.random));
 		this.evaluation.evaluate(path);
 	}
 
 	@Override
 	public void loop ()
 	{
-		Path path = new Path (this.length);
+		Path path = new Path (Path.getRandomPath (this.length, this.random));
 		this.evaluation.evaluate(path);
 	}
 }
@@ -15,6 +15,7 @@ public class RandomWalk extends DemoProject
 {
 	private Random random;
 	private Path path;
+	private double current;
 
 	/**
 	 * Méthode d'évaluation de la solution
@@ -31,26 +32,21 @@ public class RandomWalk extends DemoProject
 	@Override
 	public void initialization ()
 	{
-		this.random = new Random ();
-		this.path = new Path (this.problem.getLength ());
-		this.evaluation.evaluate (this.path);
+		this.random = new Random (this.getSeed ());
+		this.path = new Path (Path.getRandomPath (this.problem.getLength (), this.random));
+		this.current = this.evaluation.evaluate (this.path);
 	}
 
-	private Path transform (Path path)
+	@Override
+	public void loop ()
 	{
-		int [] res = path.getPath ();
+		int [] res = this.path.getPath ();
 		int i = this.random.nextInt (res.length);
 		int j = this.random.nextInt (res.length);
+		double delta = this.evaluation.swapDelta (res, i, j);
 		int tmp = res [i];
 		res [i] = res [j];
 		res [j] = tmp;
-		return new Path (res);
-	}
-
-	@Override
-	public void loop ()
-	{
-		this.path = this.transform (this.path);
-		this.evaluation.evaluate(this.path);
+		this.current = this.evaluation.commitMove (this.path, this.current, delta);
 	}
 }
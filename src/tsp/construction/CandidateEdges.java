@@ -0,0 +1,79 @@
+package tsp.construction;
+
+import java.util.Arrays;
+
+import tsp.evaluation.CandidateLists;
+import tsp.evaluation.Problem;
+
+/**
+ * Arêtes des listes de candidats triées par longueur croissante (chaque arête n'apparaît qu'une fois)
+ * Le tri porte sur des clés primitives : longueur (en float) dans les bits de poids fort, indice de l'arête
+ * dans les bits de poids faible
+ */
+final class CandidateEdges
+{
+	private final int [] from;
+	private final int [] to;
+	private final int count;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 */
+	CandidateEdges (Problem problem)
+	{
+		CandidateLists candidates = problem.getCandidateLists ();
+		int n = problem.getLength ();
+		int k = candidates.getSize ();
+		int [] from = new int [n * k];
+		int [] to = new int [n * k];
+		long [] keys = new long [n * k];
+		int count = 0;
+		for (int i = 0; i < n; i++)
+			for (int rank = 0; rank < k; rank++)
+			{
+				int j = candidates.get (i, rank);
+				// (i, j) avec i > j est déjà présente si i est aussi candidat de j
+				if (i > j && CandidateEdges.contains (candidates, j, i))
+					continue;
+				float length = (float) problem.distance (i, j);
+				keys [count] = (long) Float.floatToIntBits (length) << 32 | count;
+				from [count] = i;
+				to [count] = j;
+				count++;
+			}
+		Arrays.sort (keys, 0, count);
+		this.from = new int [count];
+		this.to = new int [count];
+		for (int e = 0; e < count; e++)
+		{
+			int index = (int) keys [e];
+			this.from [e] = from [index];
+			this.to [e] = to [index];
+		}
+		this.count = count;
+	}
+
+	private static boolean contains (CandidateLists candidates, int city, int other)
+	{
+		for (int rank = 0; rank < candidates.getSize (); rank++)
+			if (candidates.get (city, rank) == other)
+				return true;
+		return false;
+	}
+
+	int getCount ()
+	{
+		return this.count;
+	}
+
+	int getFrom (int edge)
+	{
+		return this.from [edge];
+	}
+
+	int getTo (int edge)
+	{
+		return this.to [edge];
+	}
+}
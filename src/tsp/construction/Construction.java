@@ -0,0 +1,17 @@
+package tsp.construction;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Construction d'une tournée initiale
+ * Une instance conserve ses tampons : elle ne doit pas être partagée entre plusieurs threads
+ */
+public interface Construction
+{
+	/**
+	 * Construit une tournée
+	 * @param tour Tableau de la longueur du problème, rempli avec la liste ordonnée des "villes"
+	 * @param random Générateur aléatoire (ignoré par les constructions déterministes)
+	 */
+	void construct (int [] tour, RandomGenerator random);
+}
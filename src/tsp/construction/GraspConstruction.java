@@ -0,0 +1,115 @@
+package tsp.construction;
+
+import java.util.random.RandomGenerator;
+
+import tsp.evaluation.CandidateLists;
+import tsp.evaluation.Problem;
+
+/**
+ * Construction gloutonne randomisée (GRASP) : à chaque étape, la "ville" suivante est tirée au hasard
+ * dans la liste restreinte des "villes" non visitées dont la distance est au plus min + alpha·(max - min)
+ * Les candidats sont d'abord les plus proches voisins non visités, puis toutes les "villes" non visitées
+ * si aucun voisin n'est disponible ; chaque distance n'est calculée qu'une fois par étape
+ * et le tirage se fait dans des tampons primitifs réutilisés, sans liste ni allocation
+ */
+public final class GraspConstruction implements Construction
+{
+	private final Problem problem;
+	private final CandidateLists candidates;
+	private final double alpha;
+	private final int [] remaining;
+	private final int [] index;
+	private final int [] cities;
+	private final double [] distances;
+	private int remainingCount;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 * @param alpha Largeur de la liste restreinte (0 : plus proche voisin, 1 : choix uniforme)
+	 */
+	public GraspConstruction (Problem problem, double alpha)
+	{
+		int n = problem.getLength ();
+		this.problem = problem;
+		this.candidates = problem.getCandidateLists ();
+		this.alpha = alpha;
+		this.remaining = new int [n];
+		this.index = new int [n];
+		this.cities = new int [n];
+		this.distances = new double [n];
+	}
+
+	@Override
+	public void construct (int [] tour, RandomGenerator random)
+	{
+		int n = tour.length;
+		for (int i = 0; i < n; i++)
+		{
+			this.remaining [i] = i;
+			this.index [i] = i;
+		}
+		this.remainingCount = n;
+		int current = random.nextInt (n);
+		tour [0] = current;
+		this.visit (current);
+		for (int step = 1; step < n; step++)
+		{
+			current = this.next (current, random);
+			tour [step] = current;
+			this.visit (current);
+		}
+	}
+
+	/**
+	 * Retire la "ville" des "villes" non visitées en O(1)
+	 */
+	private void visit (int city)
+	{
+		int i = this.index [city];
+		int last = this.remaining [--this.remainingCount];
+		this.remaining [i] = last;
+		this.index [last] = i;
+		this.index [city] = this.remainingCount;
+		this.remaining [this.remainingCount] = city;
+	}
+
+	private boolean isVisited (int city)
+	{
+		return this.index [city] >= this.remainingCount;
+	}
+
+	private int next (int current, RandomGenerator random)
+	{
+		double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+		int count = 0;
+		for (int rank = 0; rank < this.candidates.getSize (); rank++)
+		{
+			int city = this.candidates.get (current, rank);
+			if (!this.isVisited (city))
+			{
+				double distance = this.problem.distance (current, city);
+				this.cities [count] = city;
+				this.distances [count++] = distance;
+				min = Math.min (min, distance);
+				max = Math.max (max, distance);
+			}
+		}
+		if (count == 0)
+			for (int i = 0; i < this.remainingCount; i++)
+			{
+				int city = this.remaining [i];
+				double distance = this.problem.distance (current, city);
+				this.cities [count] = city;
+				this.distances [count++] = distance;
+				min = Math.min (min, distance);
+				max = Math.max (max, distance);
+			}
+		double threshold = min + this.alpha * (max - min);
+		int size = 0;
+		for (int i = 0; i < count; i++)
+			if (this.distances [i] <= threshold)
+				this.cities [size++] = this.cities [i];
+		return this.cities [random.nextInt (size)];
+	}
+}
@@ -0,0 +1,147 @@
+package tsp.construction;
+
+import java.util.random.RandomGenerator;
+
+import tsp.evaluation.CandidateLists;
+import tsp.evaluation.Problem;
+
+/**
+ * Construction gloutonne par arêtes : les arêtes des listes de candidats sont ajoutées de la plus courte
+ * à la plus longue tant qu'elles ne créent ni "ville" de degré 3 ni cycle (union-find)
+ * Les fragments obtenus sont ensuite reliés en allant de l'extrémité courante vers l'extrémité libre
+ * la plus proche (parmi ses candidats d'abord, puis parmi toutes les extrémités)
+ * Coût O(nk log(nk)) pour le couplage, typiquement 15 à 20 % au-dessus de l'optimum
+ */
+public final class GreedyEdgeConstruction implements Construction
+{
+	private final Problem problem;
+	private final CandidateLists candidates;
+	private final CandidateEdges edges;
+	private final UnionFind components;
+	private final int [] neighbours;
+	private final boolean [] visited;
+	private final int [] endpoints;
+	private final int [] endpointIndex;
+	private int endpointCount;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 */
+	public GreedyEdgeConstruction (Problem problem)
+	{
+		int n = problem.getLength ();
+		this.problem = problem;
+		this.candidates = problem.getCandidateLists ();
+		this.edges = new CandidateEdges (problem);
+		this.components = new UnionFind (n);
+		this.neighbours = new int [2 * n];
+		this.visited = new boolean [n];
+		this.endpoints = new int [n];
+		this.endpointIndex = new int [n];
+	}
+
+	@Override
+	public void construct (int [] tour, RandomGenerator random)
+	{
+		int n = tour.length;
+		this.components.reset ();
+		for (int i = 0; i < 2 * n; i++)
+			this.neighbours [i] = -1;
+		for (int e = 0; e < this.edges.getCount (); e++)
+		{
+			int u = this.edges.getFrom (e), v = this.edges.getTo (e);
+			if (this.degree (u) < 2 && this.degree (v) < 2 && this.components.union (u, v))
+			{
+				this.link (u, v);
+				this.link (v, u);
+			}
+		}
+		// Extrémités libres des fragments (une "ville" isolée est un fragment à elle seule)
+		this.endpointCount = 0;
+		for (int city = 0; city < n; city++)
+		{
+			this.visited [city] = false;
+			this.endpointIndex [city] = -1;
+			if (this.degree (city) < 2)
+			{
+				this.endpointIndex [city] = this.endpointCount;
+				this.endpoints [this.endpointCount++] = city;
+			}
+		}
+		int position = 0;
+		int start = this.endpointCount > 0 ? this.endpoints [0] : 0;
+		while (position < n)
+		{
+			position = this.walk (start, tour, position);
+			if (position < n)
+				start = this.nearestEndpoint (tour [position - 1]);
+		}
+	}
+
+	private int degree (int city)
+	{
+		return this.neighbours [2 * city] < 0 ? 0 : this.neighbours [2 * city + 1] < 0 ? 1 : 2;
+	}
+
+	private void link (int city, int other)
+	{
+		this.neighbours [this.neighbours [2 * city] < 0 ? 2 * city : 2 * city + 1] = other;
+	}
+
+	/**
+	 * Parcourt un fragment depuis l'une de ses extrémités
+	 * @return La position suivante dans la tournée
+	 */
+	private int walk (int start, int [] tour, int position)
+	{
+		int previous = -1, city = start;
+		while (city >= 0)
+		{
+			tour [position++] = city;
+			this.visited [city] = true;
+			this.removeEndpoint (city);
+			int next = this.neighbours [2 * city];
+			if (next < 0 || next == previous || this.visited [next])
+				next = this.neighbours [2 * city + 1];
+			if (next >= 0 && this.visited [next])
+				next = -1;
+			previous = city;
+			city = next;
+		}
+		return position;
+	}
+
+	private void removeEndpoint (int city)
+	{
+		int i = this.endpointIndex [city];
+		if (i < 0)
+			return;
+		int last = this.endpoints [--this.endpointCount];
+		this.endpoints [i] = last;
+		this.endpointIndex [last] = i;
+		this.endpointIndex [city] = -1;
+	}
+
+	private int nearestEndpoint (int city)
+	{
+		for (int rank = 0; rank < this.candidates.getSize (); rank++)
+		{
+			int other = this.candidates.get (city, rank);
+			if (this.endpointIndex [other] >= 0)
+				return other;
+		}
+		int nearest = -1;
+		double min = Double.MAX_VALUE;
+		for (int i = 0; i < this.endpointCount; i++)
+		{
+			double distance = this.problem.distance (city, this.endpoints [i]);
+			if (distance < min)
+			{
+				min = distance;
+				nearest = this.endpoints [i];
+			}
+		}
+		return nearest;
+	}
+}
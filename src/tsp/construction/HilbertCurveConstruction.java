@@ -0,0 +1,83 @@
+package tsp.construction;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import tsp.evaluation.Problem;
+
+/**
+ * Construction par courbe de Hilbert : les "villes" sont visitées dans l'ordre où la courbe
+ * (sur une grille de 2^15 × 2^15 cases couvrant le problème) passe par leur case
+ * Coût O(n log n), typiquement 25 % au-dessus de l'optimum : utile comme point de départ quasi immédiat
+ */
+public final class HilbertCurveConstruction implements Construction
+{
+	private static final int ORDER = 15;
+
+	private final long [] keys;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 */
+	public HilbertCurveConstruction (Problem problem)
+	{
+		int n = problem.getLength ();
+		double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for (int i = 0; i < n; i++)
+		{
+			double x = problem.getDistanceMatrix ().getX (i), y = problem.getDistanceMatrix ().getY (i);
+			minX = Math.min (minX, x);
+			maxX = Math.max (maxX, x);
+			minY = Math.min (minY, y);
+			maxY = Math.max (maxY, y);
+		}
+		int side = 1 << HilbertCurveConstruction.ORDER;
+		double extent = Math.max (maxX - minX, maxY - minY);
+		double cell = extent > 0 ? extent / (side - 1) : 1;
+		// Position sur la courbe dans les bits de poids fort, indice de la "ville" dans les bits de poids faible
+		this.keys = new long [n];
+		for (int i = 0; i < n; i++)
+		{
+			int x = (int) ((problem.getDistanceMatrix ().getX (i) - minX) / cell);
+			int y = (int) ((problem.getDistanceMatrix ().getY (i) - minY) / cell);
+			this.keys [i] = HilbertCurveConstruction.distance (side, x, y) << 32 | i;
+		}
+		Arrays.sort (this.keys);
+	}
+
+	/**
+	 * Position du point (x, y) le long de la courbe de Hilbert d'un carré de côté side
+	 */
+	private static long distance (int side, int x, int y)
+	{
+		long d = 0;
+		for (int s = side >>> 1; s > 0; s >>>= 1)
+		{
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			d += (long) s * s * ((3 * rx) ^ ry);
+			// Rotation du quadrant
+			if (ry == 0)
+			{
+				if (rx == 1)
+				{
+					x = s - 1 - x;
+					y = s - 1 - y;
+				}
+				int tmp = x;
+				x = y;
+				y = tmp;
+			}
+		}
+		return d;
+	}
+
+	@Override
+	public void construct (int [] tour, RandomGenerator random)
+	{
+		for (int i = 0; i < this.keys.length; i++)
+			tour [i] = (int) this.keys [i];
+	}
+}
@@ -0,0 +1,95 @@
+package tsp.construction;
+
+import java.util.random.RandomGenerator;
+
+import tsp.evaluation.Problem;
+
+/**
+ * Construction par arbre couvrant : arbre couvrant minimal (Kruskal) sur les arêtes des listes de candidats,
+ * puis parcours en profondeur préfixe de l'arbre depuis une "ville" aléatoire (au plus deux fois l'optimum)
+ * Si les listes de candidats ne relient pas toutes les "villes", chaque composante restante est rattachée
+ * à la "ville" déjà reliée la plus proche
+ */
+public final class SpanningTreeConstruction implements Construction
+{
+	private final int length;
+	private final int [] adjacency;
+	private final int [] start;
+	private final int [] stack;
+	private final boolean [] visited;
+
+	/**
+	 * Constructeur : l'arbre est calculé une fois pour toutes
+	 * @param problem Le problème TSP
+	 */
+	public SpanningTreeConstruction (Problem problem)
+	{
+		int n = problem.getLength ();
+		this.length = n;
+		int [] from = new int [Math.max (0, n - 1)];
+		int [] to = new int [Math.max (0, n - 1)];
+		int count = 0;
+		UnionFind components = new UnionFind (n);
+		CandidateEdges edges = new CandidateEdges (problem);
+		for (int e = 0; e < edges.getCount () && count < n - 1; e++)
+			if (components.union (edges.getFrom (e), edges.getTo (e)))
+			{
+				from [count] = edges.getFrom (e);
+				to [count++] = edges.getTo (e);
+			}
+		// Forêt : rattacher les composantes séparées de la "ville" 0
+		for (int city = 1; city < n && count < n - 1; city++)
+			if (components.find (city) != components.find (0))
+			{
+				int nearest = -1;
+				double min = Double.MAX_VALUE;
+				for (int other = 0; other < n; other++)
+					if (components.find (other) == components.find (0) && problem.distance (city, other) < min)
+					{
+						min = problem.distance (city, other);
+						nearest = other;
+					}
+				components.union (city, nearest);
+				from [count] = city;
+				to [count++] = nearest;
+			}
+		// Listes d'adjacence à plat
+		this.start = new int [n + 1];
+		for (int e = 0; e < count; e++)
+		{
+			this.start [from [e] + 1]++;
+			this.start [to [e] + 1]++;
+		}
+		for (int i = 0; i < n; i++)
+			this.start [i + 1] += this.start [i];
+		this.adjacency = new int [2 * count];
+		int [] fill = new int [n];
+		for (int e = 0; e < count; e++)
+		{
+			this.adjacency [this.start [from [e]] + fill [from [e]]++] = to [e];
+			this.adjacency [this.start [to [e]] + fill [to [e]]++] = from [e];
+		}
+		this.stack = new int [n];
+		this.visited = new boolean [n];
+	}
+
+	@Override
+	public void construct (int [] tour, RandomGenerator random)
+	{
+		for (int i = 0; i < this.length; i++)
+			this.visited [i] = false;
+		int size = 0, position = 0;
+		this.stack [size++] = random.nextInt (this.length);
+		while (size > 0)
+		{
+			int city = this.stack [--size];
+			if (this.visited [city])
+				continue;
+			this.visited [city] = true;
+			tour [position++] = city;
+			for (int i = this.start [city + 1] - 1; i >= this.start [city]; i--)
+				if (!this.visited [this.adjacency [i]])
+					this.stack [size++] = this.adjacency [i];
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package tsp.construction;
+
+/**
+ * Union-find (compression de chemins et union par taille) sur les "villes"
+ */
+final class UnionFind
+{
+	private final int [] parent;
+	private final int [] size;
+
+	/**
+	 * Constructeur
+	 * @param length Nombre d'éléments
+	 */
+	UnionFind (int length)
+	{
+		this.parent = new int [length];
+		this.size = new int [length];
+		this.reset ();
+	}
+
+	/**
+	 * Remet chaque élément dans son propre ensemble
+	 */
+	void reset ()
+	{
+		for (int i = 0; i < this.parent.length; i++)
+		{
+			this.parent [i] = i;
+			this.size [i] = 1;
+		}
+	}
+
+	int find (int i)
+	{
+		while (this.parent [i] != i)
+		{
+			this.parent [i] = this.parent [this.parent [i]];
+			i = this.parent [i];
+		}
+		return i;
+	}
+
+	/**
+	 * @return Indique si les deux ensembles étaient distincts
+	 */
+	boolean union (int i, int j)
+	{
+		int ri = this.find (i), rj = this.find (j);
+		if (ri == rj)
+			return false;
+		if (this.size [ri] < this.size [rj])
+		{
+			int tmp = ri;
+			ri = rj;
+			rj = tmp;
+		}
+		this.parent [rj] = ri;
+		this.size [ri] += this.size [rj];
+		return true;
+	}
+}
@@ -0,0 +1,22 @@
+package tsp.crossover;
+
+import java.util.Random;
+
+/**
+ * Opérateur de croisement pour les algorithmes génétiques
+ * Les parents sont lus dans des tableaux à plat (une population entière peut être stockée dans un seul tableau),
+ * l'enfant est écrit dans un tableau fourni par l'appelant : aucune allocation par croisement
+ */
+public interface Crossover
+{
+	/**
+	 * Construit un enfant à partir de deux parents
+	 * @param parent1 Tableau contenant le premier parent
+	 * @param offset1 Position du premier parent dans son tableau
+	 * @param parent2 Tableau contenant le second parent
+	 * @param offset2 Position du second parent dans son tableau
+	 * @param child Tableau de la longueur du problème, rempli avec l'enfant
+	 * @param random Générateur aléatoire
+	 */
+	void cross (int [] parent1, int offset1, int [] parent2, int offset2, int [] child, Random random);
+}
@@ -0,0 +1,56 @@
+package tsp.crossover;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Croisement ordonné (OX) : l'enfant reçoit un segment aléatoire du premier parent,
+ * puis les "villes" restantes dans l'ordre où elles apparaissent dans le second parent
+ */
+public final class OrderedCrossover implements Crossover
+{
+	private final int length;
+	private final int [] marks;
+	private int mark;
+
+	/**
+	 * Constructeur
+	 * @param length Nombre de "villes"
+	 */
+	public OrderedCrossover (int length)
+	{
+		this.length = length;
+		this.marks = new int [length];
+		this.mark = 0;
+	}
+
+	@Override
+	public void cross (int [] parent1, int offset1, int [] parent2, int offset2, int [] child, Random random)
+	{
+		int length = this.length;
+		// Une "ville" est placée si marks [ville] == mark : pas de remise à zéro entre deux croisements
+		if (++this.mark == Integer.MAX_VALUE)
+		{
+			Arrays.fill (this.marks, 0);
+			this.mark = 1;
+		}
+		int start = random.nextInt (length);
+		int end = random.nextInt (length - start) + start;
+		for (int i = start; i <= end; i++)
+		{
+			child [i] = parent1 [offset1 + i];
+			this.marks [child [i]] = this.mark;
+		}
+		int position = (end + 1) % length;
+		for (int i = 0; i < length; i++)
+		{
+			int city = parent2 [offset2 + (end + 1 + i) % length];
+			if (this.marks [city] != this.mark)
+			{
+				child [position] = city;
+				this.marks [city] = this.mark;
+				position = (position + 1) % length;
+			}
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package tsp.crossover;
+
+import java.util.Random;
+
+import tsp.evaluation.Problem;
+
+/**
+ * Croisement par partition (GPX) : les arêtes communes aux deux parents sont conservées,
+ * les autres arêtes découpent le graphe union en composantes connexes (union-find)
+ * Une composante traversée une seule fois par les parents (exactement deux arêtes communes la relient au reste)
+ * est parcourue par chaque parent d'une extrémité à l'autre : l'enfant prend, composante par composante,
+ * le parcours le plus court des deux
+ * Le reste de la tournée vient du parent de base : celui des deux qui donne l'enfant le plus court,
+ * parmi ceux qui reçoivent au moins une composante plus courte de l'autre parent
+ * Si aucune composante ne permet de recombiner, le croisement ordonné (OX) est utilisé à la place
+ */
+public final class PartitionCrossover implements Crossover
+{
+	private final Problem problem;
+	private final int length;
+	private final OrderedCrossover fallback;
+	private final int [] positionA;
+	private final int [] positionB;
+	private final int [] parent;
+	private final int [] size;
+	private final int [] crossing;
+	private final double [] lengthA;
+	private final double [] lengthB;
+	private final boolean [] recombinable;
+	private double totalA;
+	private double totalB;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 */
+	public PartitionCrossover (Problem problem)
+	{
+		this.problem = problem;
+		this.length = problem.getLength ();
+		this.fallback = new OrderedCrossover (this.length);
+		this.positionA = new int [this.length];
+		this.positionB = new int [this.length];
+		this.parent = new int [this.length];
+		this.size = new int [this.length];
+		this.crossing = new int [this.length];
+		this.lengthA = new double [this.length];
+		this.lengthB = new double [this.length];
+		this.recombinable = new boolean [this.length];
+	}
+
+	@Override
+	public void cross (int [] parent1, int offset1, int [] parent2, int offset2, int [] child, Random random)
+	{
+		if (!this.partition (parent1, offset1, parent2, offset2))
+		{
+			this.fallback.cross (parent1, offset1, parent2, offset2, child, random);
+			return;
+		}
+		// Gain de chaque base : somme des composantes où l'autre parent est plus court
+		double gainA = 0, gainB = 0;
+		for (int i = 0; i < this.length; i++)
+			if (this.recombinable [i])
+			{
+				gainA += Math.max (0, this.lengthA [i] - this.lengthB [i]);
+				gainB += Math.max (0, this.lengthB [i] - this.lengthA [i]);
+			}
+		if (gainA <= 0 && gainB <= 0)
+			this.fallback.cross (parent1, offset1, parent2, offset2, child, random);
+		else if (gainB <= 0 || (gainA > 0 && this.totalA - gainA <= this.totalB - gainB))
+			this.assemble (parent1, offset1, this.lengthA, parent2, offset2, this.positionB, this.lengthB, child);
+		else
+			this.assemble (parent2, offset2, this.lengthB, parent1, offset1, this.positionA, this.lengthA, child);
+	}
+
+	/**
+	 * Calcule les composantes, la longueur de chaque parent dans chacune et la longueur totale des parents
+	 * @return Indique si au moins une composante est traversée exactement deux fois
+	 */
+	private boolean partition (int [] a, int offsetA, int [] b, int offsetB)
+	{
+		int n = this.length;
+		for (int i = 0; i < n; i++)
+		{
+			this.positionA [a [offsetA + i]] = i;
+			this.positionB [b [offsetB + i]] = i;
+			this.parent [i] = i;
+			this.size [i] = 1;
+			this.crossing [i] = 0;
+			this.lengthA [i] = 0;
+			this.lengthB [i] = 0;
+			this.recombinable [i] = false;
+		}
+		this.totalA = 0;
+		this.totalB = 0;
+		// Graphe union privé des arêtes communes
+		for (int i = 0; i < n; i++)
+		{
+			int u = a [offsetA + i], v = a [offsetA + (i + 1) % n];
+			if (!this.isEdge (b, offsetB, this.positionB, u, v))
+				this.union (u, v);
+			u = b [offsetB + i];
+			v = b [offsetB + (i + 1) % n];
+			if (!this.isEdge (a, offsetA, this.positionA, u, v))
+				this.union (u, v);
+		}
+		// Les arêtes qui relient deux composantes sont forcément communes : il suffit de compter celles du premier parent
+		for (int i = 0; i < n; i++)
+		{
+			int u = a [offsetA + i], v = a [offsetA + (i + 1) % n];
+			int ru = this.find (u), rv = this.find (v);
+			double d = this.problem.distance (u, v);
+			this.totalA += d;
+			if (ru != rv)
+			{
+				this.crossing [ru]++;
+				this.crossing [rv]++;
+			}
+			else
+				this.lengthA [ru] += d;
+			u = b [offsetB + i];
+			v = b [offsetB + (i + 1) % n];
+			d = this.problem.distance (u, v);
+			this.totalB += d;
+			ru = this.find (u);
+			if (ru == this.find (v))
+				this.lengthB [ru] += d;
+		}
+		boolean found = false;
+		for (int i = 0; i < n; i++)
+			if (this.parent [i] == i && this.size [i] > 1 && this.crossing [i] == 2)
+			{
+				this.recombinable [i] = true;
+				found = true;
+			}
+		return found;
+	}
+
+	private boolean isEdge (int [] tour, int offset, int [] position, int u, int v)
+	{
+		int n = this.length;
+		int p = position [u];
+		return tour [offset + (p + 1) % n] == v || tour [offset + (p - 1 + n) % n] == v;
+	}
+
+	private int find (int city)
+	{
+		while (this.parent [city] != city)
+		{
+			this.parent [city] = this.parent [this.parent [city]];
+			city = this.parent [city];
+		}
+		return city;
+	}
+
+	private void union (int u, int v)
+	{
+		int ru = this.find (u), rv = this.find (v);
+		if (ru == rv)
+			return;
+		if (this.size [ru] < this.size [rv])
+		{
+			int tmp = ru;
+			ru = rv;
+			rv = tmp;
+		}
+		this.parent [rv] = ru;
+		this.size [ru] += this.size [rv];
+	}
+
+	/**
+	 * Parcourt le parent de base en remplaçant chaque composante plus courte dans l'autre parent par le parcours de celui-ci
+	 */
+	private void assemble (int [] a, int offsetA, double [] lengthA,
+		int [] b, int offsetB, int [] positionB, double [] lengthB, int [] child)
+	{
+		int n = this.length;
+		// Départ sur l'entrée d'une composante choisie, pour ne jamais commencer au milieu de l'une d'elles
+		int start = 0;
+		for (int i = 0; i < n; i++)
+		{
+			int r = this.find (a [offsetA + i]);
+			if (this.taken (r, lengthA, lengthB) && r != this.find (a [offsetA + (i - 1 + n) % n]))
+			{
+				start = i;
+				break;
+			}
+		}
+		int position = 0;
+		for (int k = 0; k < n; k++)
+		{
+			int city = a [offsetA + (start + k) % n];
+			int r = this.find (city);
+			if (!this.taken (r, lengthA, lengthB))
+				child [position++] = city;
+			else
+			{
+				// L'autre parent parcourt la composante de cette extrémité jusqu'à l'autre
+				int p = positionB [city];
+				int step = this.find (b [offsetB + (p + 1) % n]) == r ? 1 : n - 1;
+				for (int i = 0; i < this.size [r]; i++)
+				{
+					child [position++] = b [offsetB + p];
+					p = (p + step) % n;
+				}
+				k += this.size [r] - 1;
+			}
+		}
+	}
+
+	private boolean taken (int r, double [] lengthA, double [] lengthB)
+	{
+		return this.recombinable [r] && lengthB [r] < lengthA [r];
+	}
+}
@@ -0,0 +1,64 @@
+package tsp.evaluation;
+
+/**
+ * Listes de candidats : les k plus proches voisins de chaque "ville", triés par distance croissante
+ * Construites en O(n log n) grâce à un arbre k-d
+ */
+public final class CandidateLists
+{
+	/**
+	 * Nombre de voisins par défaut
+	 */
+	public static final int DEFAULT_SIZE = 10;
+
+	private final int length;
+	private final int size;
+	private final int [] neighbours;
+
+	/**
+	 * Constructeur
+	 * @param distanceMatrix Les distances du problème
+	 * @param size Nombre de voisins par "ville"
+	 */
+	CandidateLists (DistanceMatrix distanceMatrix, int size)
+	{
+		this.length = distanceMatrix.getLength ();
+		this.size = Math.max (0, Math.min (size, this.length - 1));
+		this.neighbours = new int [this.length * this.size];
+		if (this.size > 0)
+		{
+			KdTree tree = new KdTree (distanceMatrix.getXs (), distanceMatrix.getYs ());
+			for (int i = 0; i < this.length; i++)
+				tree.nearest (i, this.neighbours, i * this.size, this.size);
+		}
+	}
+
+	/**
+	 * @return Le nombre de voisins par "ville"
+	 */
+	public int getSize ()
+	{
+		return this.size;
+	}
+
+	/**
+	 * @param city L'indice d'une "ville"
+	 * @param rank Le rang du voisin (0 pour le plus proche)
+	 * @return L'indice du voisin
+	 */
+	public int get (int city, int rank)
+	{
+		return this.neighbours [city * this.size + rank];
+	}
+
+	/**
+	 * @param city L'indice d'une "ville"
+	 * @return Une copie de la liste des voisins de la "ville"
+	 */
+	public int [] getNeighbours (int city)
+	{
+		int [] neighbours = new int [this.size];
+		System.arraycopy (this.neighbours, city * this.size, neighbours, 0, this.size);
+		return neighbours;
+	}
+}
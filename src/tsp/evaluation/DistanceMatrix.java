@@ -0,0 +1,112 @@
+package tsp.evaluation;
+
+/**
+ * Matrice des distances euclidiennes entre les "villes" d'un problème
+ * Pour les petites instances, les distances sont précalculées dans un tableau à plat,
+ * pour les grandes, elles sont calculées à la volée à partir des coordonnées (sans allocation)
+ */
+public final class DistanceMatrix
+{
+	/**
+	 * Nombre maximal de "villes" pour lequel la matrice est précalculée
+	 * (2500 villes : environ 50 Mo en double)
+	 */
+	public static final int MAX_PRECOMPUTED_LENGTH = 2500;
+
+	private final int length;
+	private final double [] x;
+	private final double [] y;
+	private final double [] matrix;
+
+	/**
+	 * Constructeur
+	 * @param data Coordonnées des "villes" (une ligne par ville : x, y)
+	 */
+	DistanceMatrix (double [][] data)
+	{
+		this.length = data.length;
+		this.x = new double [this.length];
+		this.y = new double [this.length];
+		for (int i = 0; i < this.length; i++)
+		{
+			this.x [i] = data [i][0];
+			this.y [i] = data [i][1];
+		}
+		if (this.length <= DistanceMatrix.MAX_PRECOMPUTED_LENGTH)
+		{
+			this.matrix = new double [this.length * this.length];
+			for (int i = 0; i < this.length; i++)
+				for (int j = i + 1; j < this.length; j++)
+				{
+					double d = this.compute (i, j);
+					this.matrix [i * this.length + j] = d;
+					this.matrix [j * this.length + i] = d;
+				}
+		}
+		else
+			this.matrix = null;
+	}
+
+	private double compute (int i, int j)
+	{
+		double dx = this.x [i] - this.x [j];
+		double dy = this.y [i] - this.y [j];
+		return Math.sqrt (dx * dx + dy * dy);
+	}
+
+	/**
+	 * @param i L'indice d'une "ville"
+	 * @param j L'indice d'une autre "ville"
+	 * @return La distance entre les deux "villes" (identique à Coordinates.distance)
+	 */
+	public double distance (int i, int j)
+	{
+		if (this.matrix != null)
+			return this.matrix [i * this.length + j];
+		return this.compute (i, j);
+	}
+
+	/**
+	 * @return Indique si les distances sont précalculées
+	 */
+	public boolean isPrecomputed ()
+	{
+		return this.matrix != null;
+	}
+
+	/**
+	 * @return Le nombre de "villes"
+	 */
+	public int getLength ()
+	{
+		return this.length;
+	}
+
+	double [] getXs ()
+	{
+		return this.x;
+	}
+
+	double [] getYs ()
+	{
+		return this.y;
+	}
+
+	/**
+	 * @param index L'indice d'une "ville"
+	 * @return La coordonnée X de la "ville"
+	 */
+	public double getX (int index)
+	{
+		return this.x [index];
+	}
+
+	/**
+	 * @param index L'indice d'une "ville"
+	 * @return La coordonnée Y de la "ville"
+	 */
+	public double getY (int index)
+	{
+		return this.y [index];
+	}
+}
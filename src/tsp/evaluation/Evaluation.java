@@ -1,16 +1,39 @@
 package tsp.evaluation;
 
-import tsp.run.MonitorChart;
-import tsp.run.PathChart;
+import java.util.concurrent.atomic.AtomicReference;
+
+import tsp.run.ChartFeed;
 
 /**
  * @author Alexandre Blansché
  * Évaluation d'un chemin pour un problème TSP
+ * Une même évaluation peut être partagée par plusieurs threads : la meilleure solution est
+ * mise à jour sans verrou (compare-and-set sur un instantané immuable)
  */
 public final class Evaluation
 {
-	private double bestEvaluation;
+	/**
+	 * Meilleure solution : évaluation et copie du chemin, jamais modifiées après création
+	 */
+	private static final class Best
+	{
+		private final double evaluation;
+		private final int [] path;
+
+		private Best (double evaluation, int [] path)
+		{
+			this.evaluation = evaluation;
+			this.path = path;
+		}
+	}
+
+	private final AtomicReference <Best> best;
 	private Problem problem;
+	private double [] x;
+	private double [] y;
+	private boolean trace;
+	private EvaluationListener [] listeners;
+	private final Metrics metrics;
 	
 	/**
 	 * Constructeur
@@ -18,8 +41,65 @@ public final class Evaluation
 	 */
 	public Evaluation (Problem problem)
 	{
-		this.setBestEvaluation (Double.MAX_VALUE);
+		this (problem, true);
+	}
+	
+	/**
+	 * Constructeur
+	 * @param problem Le problème (liste de "villes")
+	 * @param display Indique si les évaluations alimentent l'affichage graphique
+	 * (une seule évaluation à la fois doit l'alimenter, sans effet en mode sans affichage)
+	 */
+	public Evaluation (Problem problem, boolean display)
+	{
+		this (problem, display ? ChartFeed.getInstance () : null);
+	}
+	
+	/**
+	 * Constructeur
+	 * @param problem Le problème (liste de "villes")
+	 * @param listener Observateur des évaluations (null pour aucun)
+	 */
+	public Evaluation (Problem problem, EvaluationListener listener)
+	{
+		this.listeners = listener == null ? new EvaluationListener [0] : new EvaluationListener [] {listener};
+		this.best = new AtomicReference <Best> (new Best (Double.MAX_VALUE, null));
+		this.metrics = new Metrics ();
 		this.problem = problem;
+		this.x = problem.getDistanceMatrix ().getXs ();
+		this.y = problem.getDistanceMatrix ().getYs ();
+		this.trace = false;
+	}
+
+	/**
+	 * Ajoute un observateur des évaluations (avant de lancer le projet)
+	 * @param listener L'observateur
+	 */
+	public void addListener (EvaluationListener listener)
+	{
+		EvaluationListener [] listeners = new EvaluationListener [this.listeners.length + 1];
+		System.arraycopy (this.listeners, 0, listeners, 0, this.listeners.length);
+		listeners [this.listeners.length] = listener;
+		this.listeners = listeners;
+	}
+
+	private void notifyListeners (double evaluation)
+	{
+		if (this.listeners.length == 0)
+			return;
+		double best = this.getBestEvaluation ();
+		for (EvaluationListener listener: this.listeners)
+			listener.evaluated (evaluation, best);
+	}
+
+	/**
+	 * Active ou désactive la trace de débuggage de l'évaluation (désactivée par défaut)
+	 * Chaque arête évaluée est alors affichée sur la sortie standard
+	 * @param trace Indique s'il faut tracer les évaluations
+	 */
+	public void setTrace (boolean trace)
+	{
+		this.trace = trace;
 	}
 	
 	/**
@@ -37,6 +117,7 @@ public final class Evaluation
 	 */
 	public boolean isValid (int [] path)
 	{
+		this.metrics.validated ();
 		boolean valid = path.length == this.problem.getLength ();
 		if (valid)
 		{
@@ -61,42 +142,90 @@ public final class Evaluation
 	 */
 	public double evaluate (Path path)
 	{
+	    this.metrics.evaluated ();
 	    double evaluation = this.quickEvaluateHidden (path);
 	    if (evaluation < this.getBestEvaluation())
 	    {
-	    	if (this.isValid (path))
+	    	int [] snapshot = path.getPath ().clone ();
+	    	if (this.isValid (snapshot))
 	    	{
 	    		if (!Thread.currentThread ().isInterrupted ())
 	    		{
-	    			this.setBestEvaluation (evaluation);
-	    			PathChart.getInstance().changePath (path);
+	    			Best best = new Best (evaluation, snapshot);
+	    			if (this.offer (best))
+	    			{
+	    				this.metrics.improved ();
+	    				for (EvaluationListener listener: this.listeners)
+	    					listener.improved (snapshot, evaluation);
+	    			}
 	    		}
 	    	}
 	    }
-		MonitorChart.getInstance().addData (evaluation, this.getBestEvaluation());
+	    this.notifyListeners (evaluation);
 	    return evaluation;
 	}
+
+	/**
+	 * Remplace la meilleure solution si la candidate est meilleure (sans verrou)
+	 * @return Indique si la candidate a été retenue
+	 */
+	private boolean offer (Best candidate)
+	{
+		Best current = this.best.get ();
+		while (candidate.evaluation < current.evaluation)
+		{
+			if (this.best.compareAndSet (current, candidate))
+				return true;
+			current = this.best.get ();
+		}
+		return false;
+	}
 	
     private double quickEvaluateHidden (Path path)
     {
-        double evaluation = 0;
         int [] p = path.getPath ();
-        Coordinates c1 = this.problem.getCoordinates (p [0]);
-        Coordinates c2 = null;
-        for (int i = 1; i < p.length; i++)
+        if (this.trace)
+            return this.traceEvaluate (p);
+        return this.pathLength (p);
+    }
+
+    /**
+     * Noyau d'évaluation : aucune allocation, aucun affichage, aucun effet de bord
+     * @param path Liste ordonnée des "villes"
+     * @return La longueur du chemin (retour à la ville de départ compris)
+     */
+    public double pathLength (int [] path)
+    {
+        double [] x = this.x;
+        double [] y = this.y;
+        int first = path [0];
+        int last = first;
+        double evaluation = 0;
+        for (int i = 1; i < path.length; i++)
         {
-            c2 = this.problem.getCoordinates (p [i]);
-            evaluation += c1.distance (c2);
-            System.out.println(i);
-            System.out.println(c1.distance (c2));
-            System.out.println(evaluation);
-            System.out.println();
-            c1 = c2;
+            int current = path [i];
+            double dx = x [last] - x [current];
+            double dy = y [last] - y [current];
+            evaluation += Math.sqrt (dx * dx + dy * dy);
+            last = current;
+        }
+        double dx = x [last] - x [first];
+        double dy = y [last] - y [first];
+        return evaluation + Math.sqrt (dx * dx + dy * dy);
+    }
+
+    private double traceEvaluate (int [] p)
+    {
+        double evaluation = 0;
+        for (int i = 1; i <= p.length; i++)
+        {
+            double distance = this.problem.distance (p [i - 1], p [i % p.length]);
+            evaluation += distance;
+            System.out.println (i);
+            System.out.println (distance);
+            System.out.println (evaluation);
+            System.out.println ();
         }
-        c2 = this.problem.getCoordinates (p [0]);
-        evaluation += c1.distance (c2);
-        System.out.println(c1.distance (c2));
-        System.out.println(evaluation);
         return evaluation;
     }
     
@@ -107,11 +236,148 @@ public final class Evaluation
      */
     public double quickEvaluate (Path path)
     {
+        this.metrics.quickEvaluated ();
         double evaluation = this.quickEvaluateHidden (path);
-        MonitorChart.getInstance().addData (evaluation, this.getBestEvaluation());
+        this.notifyListeners (evaluation);
         return evaluation;
     }
 
+	/**
+	 * Valide un mouvement évalué par différence (swapDelta, twoOptDelta, insertionDelta, orOptDelta)
+	 * et déjà appliqué au chemin
+	 * Le coût est constant, sauf si le mouvement améliore la meilleure solution : le chemin est alors
+	 * réévalué entièrement et vérifié comme avec evaluate (pas de dérive numérique sur la meilleure évaluation)
+	 * @param path Le chemin, après application du mouvement
+	 * @param evaluation L'évaluation du chemin avant le mouvement
+	 * @param delta La variation de longueur due au mouvement
+	 * @return L'évaluation du chemin après le mouvement
+	 */
+	public double commitMove (Path path, double evaluation, double delta)
+	{
+		double newEvaluation = evaluation + delta;
+		if (newEvaluation < this.getBestEvaluation ())
+			return this.evaluate (path);
+		this.metrics.moved ();
+		this.notifyListeners (newEvaluation);
+		return newEvaluation;
+	}
+
+	/**
+	 * Variation de longueur si l'on échange les "villes" aux positions i et j
+	 * @param path Liste ordonnée des "villes"
+	 * @param i Une position
+	 * @param j Une autre position
+	 * @return La variation de longueur (négative si le mouvement raccourcit le chemin)
+	 */
+	public double swapDelta (int [] path, int i, int j)
+	{
+		int n = path.length;
+		if (i == j || n < 4)
+			return 0;
+		if (j == (i + 1) % n)
+			return this.adjacentSwapDelta (path, i, j);
+		if (i == (j + 1) % n)
+			return this.adjacentSwapDelta (path, j, i);
+		int a = path [i], b = path [j];
+		int ap = path [(i - 1 + n) % n], an = path [(i + 1) % n];
+		int bp = path [(j - 1 + n) % n], bn = path [(j + 1) % n];
+		return this.problem.distance (ap, b) + this.problem.distance (b, an)
+			+ this.problem.distance (bp, a) + this.problem.distance (a, bn)
+			- this.problem.distance (ap, a) - this.problem.distance (a, an)
+			- this.problem.distance (bp, b) - this.problem.distance (b, bn);
+	}
+
+	private double adjacentSwapDelta (int [] path, int i, int j)
+	{
+		int n = path.length;
+		int before = path [(i - 1 + n) % n], after = path [(j + 1) % n];
+		return this.problem.distance (before, path [j]) + this.problem.distance (path [i], after)
+			- this.problem.distance (before, path [i]) - this.problem.distance (path [j], after);
+	}
+
+	/**
+	 * Variation de longueur si l'on inverse le segment entre les positions i et j (2-opt)
+	 * @param path Liste ordonnée des "villes"
+	 * @param i Début du segment
+	 * @param j Fin du segment (incluse)
+	 * @return La variation de longueur (négative si le mouvement raccourcit le chemin)
+	 */
+	public double twoOptDelta (int [] path, int i, int j)
+	{
+		int n = path.length;
+		if (i > j)
+		{
+			int tmp = i;
+			i = j;
+			j = tmp;
+		}
+		if (i == j || (i == 0 && j == n - 1))
+			return 0;
+		int a = path [(i - 1 + n) % n], b = path [i];
+		int c = path [j], d = path [(j + 1) % n];
+		return this.problem.distance (a, c) + this.problem.distance (b, d)
+			- this.problem.distance (a, b) - this.problem.distance (c, d);
+	}
+
+	/**
+	 * Variation de longueur si l'on déplace la "ville" de la position i à la position j
+	 * (les "villes" intermédiaires sont décalées d'un cran)
+	 * @param path Liste ordonnée des "villes"
+	 * @param i Position de départ
+	 * @param j Position d'arrivée
+	 * @return La variation de longueur (négative si le mouvement raccourcit le chemin)
+	 */
+	public double insertionDelta (int [] path, int i, int j)
+	{
+		int n = path.length;
+		if (i == j || n < 4)
+			return 0;
+		int a = path [i];
+		int before = path [(i - 1 + n) % n], after = path [(i + 1) % n];
+		int u, v;
+		if (j > i)
+		{
+			u = path [j];
+			v = (j + 1) % n == i ? after : path [(j + 1) % n];
+		}
+		else
+		{
+			u = (j - 1 + n) % n == i ? before : path [(j - 1 + n) % n];
+			v = path [j];
+		}
+		return this.problem.distance (before, after) + this.problem.distance (u, a) + this.problem.distance (a, v)
+			- this.problem.distance (before, a) - this.problem.distance (a, after) - this.problem.distance (u, v);
+	}
+
+	/**
+	 * Variation de longueur si l'on déplace un segment entre deux "villes" consécutives (or-opt)
+	 * @param path Liste ordonnée des "villes"
+	 * @param i Position du début du segment
+	 * @param length Longueur du segment (les positions sont prises modulo la longueur du chemin)
+	 * @param j Le segment est inséré entre les positions j et j + 1 (j hors du segment et différent de i - 1)
+	 * @param reversed Indique si le segment est inséré à l'envers
+	 * @return La variation de longueur (négative si le mouvement raccourcit le chemin), 0 si le mouvement est impossible
+	 */
+	public double orOptDelta (int [] path, int i, int length, int j, boolean reversed)
+	{
+		int n = path.length;
+		int offset = ((j - i + 1) % n + n) % n;
+		if (length < 1 || length > n - 3 || offset <= length)
+			return 0;
+		int first = path [i], last = path [(i + length - 1) % n];
+		int before = path [(i - 1 + n) % n], after = path [(i + length) % n];
+		int u = path [j % n], v = path [(j + 1) % n];
+		if (reversed)
+		{
+			int tmp = first;
+			first = last;
+			last = tmp;
+		}
+		return this.problem.distance (before, after) + this.problem.distance (u, first) + this.problem.distance (last, v)
+			- this.problem.distance (before, path [i]) - this.problem.distance (path [(i + length - 1) % n], after)
+			- this.problem.distance (u, v);
+	}
+
 	/**
 	 * @return Le problème TSP
 	 */
@@ -120,16 +386,28 @@ public final class Evaluation
 		return this.problem;
 	}
 
+	/**
+	 * @return Les mesures de l'exécution (compteurs, durées, allocation)
+	 */
+	public Metrics getMetrics ()
+	{
+		return this.metrics;
+	}
+
 	/**
 	 * @return L'évaluation de la meilleure solution
 	 */
 	public double getBestEvaluation ()
 	{
-		return this.bestEvaluation;
+		return this.best.get ().evaluation;
 	}
 
-	private void setBestEvaluation (double bestEvaluation)
+	/**
+	 * @return Une copie du meilleur chemin (null si aucun chemin valide n'a été évalué)
+	 */
+	public Path getBestPath ()
 	{
-		this.bestEvaluation = bestEvaluation;
+		int [] path = this.best.get ().path;
+		return path == null ? null : new Path (path.clone ());
 	}
 }
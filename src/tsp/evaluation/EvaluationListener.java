@@ -0,0 +1,23 @@
+package tsp.evaluation;
+
+/**
+ * Observateur des évaluations (affichage, traces...)
+ * Les méthodes sont appelées sur le thread du solveur, éventuellement par plusieurs threads à la fois :
+ * elles doivent rendre la main immédiatement et ne pas modifier les données reçues
+ */
+public interface EvaluationListener
+{
+	/**
+	 * Appelée à chaque évaluation
+	 * @param current Évaluation de la solution courante
+	 * @param best Évaluation de la meilleure solution
+	 */
+	public void evaluated (double current, double best);
+
+	/**
+	 * Appelée à chaque amélioration de la meilleure solution
+	 * @param path Le nouveau meilleur chemin (copie propre à l'évaluation, jamais modifiée ensuite)
+	 * @param evaluation Son évaluation
+	 */
+	public void improved (int [] path, double evaluation);
+}
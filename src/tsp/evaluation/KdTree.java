@@ -0,0 +1,187 @@
+package tsp.evaluation;
+
+/**
+ * Arbre k-d (k = 2) implicite sur les "villes" d'un problème
+ * Construction en O(n log n) par partitionnement autour de la médiane,
+ * recherche des k plus proches voisins en O(log n) en moyenne
+ */
+final class KdTree
+{
+	private final double [] x;
+	private final double [] y;
+	private final int [] index;
+	private final boolean [] splitOnX;
+	private int [] heapIndex;
+	private double [] heapDistance;
+	private int heapSize;
+
+	/**
+	 * Constructeur
+	 * @param x Abscisses des "villes"
+	 * @param y Ordonnées des "villes"
+	 */
+	KdTree (double [] x, double [] y)
+	{
+		this.x = x;
+		this.y = y;
+		this.index = new int [x.length];
+		for (int i = 0; i < this.index.length; i++)
+			this.index [i] = i;
+		this.splitOnX = new boolean [x.length];
+		this.build (0, this.index.length);
+	}
+
+	private void build (int from, int to)
+	{
+		if (to - from <= 1)
+			return;
+		double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for (int i = from; i < to; i++)
+		{
+			int c = this.index [i];
+			minX = Math.min (minX, this.x [c]);
+			maxX = Math.max (maxX, this.x [c]);
+			minY = Math.min (minY, this.y [c]);
+			maxY = Math.max (maxY, this.y [c]);
+		}
+		int mid = (from + to) >>> 1;
+		boolean onX = maxX - minX >= maxY - minY;
+		this.splitOnX [mid] = onX;
+		this.select (from, to - 1, mid, onX ? this.x : this.y);
+		this.build (from, mid);
+		this.build (mid + 1, to);
+	}
+
+	/**
+	 * Sélection rapide : place en position k l'élément de rang k selon la coordonnée donnée
+	 */
+	private void select (int left, int right, int k, double [] coordinate)
+	{
+		while (right > left)
+		{
+			int pivotPosition = (left + right) >>> 1;
+			double pivot = coordinate [this.index [pivotPosition]];
+			this.swap (pivotPosition, right);
+			int store = left;
+			for (int i = left; i < right; i++)
+				if (coordinate [this.index [i]] < pivot)
+					this.swap (i, store++);
+			this.swap (store, right);
+			if (store == k)
+				return;
+			if (store < k)
+				left = store + 1;
+			else
+				right = store - 1;
+		}
+	}
+
+	private void swap (int i, int j)
+	{
+		int tmp = this.index [i];
+		this.index [i] = this.index [j];
+		this.index [j] = tmp;
+	}
+
+	/**
+	 * Recherche des plus proches voisins d'une "ville" (la ville elle-même est exclue)
+	 * @param city L'indice de la "ville"
+	 * @param neighbours Tableau à remplir, trié par distance croissante
+	 * @param offset Position de départ dans le tableau
+	 * @param k Nombre de voisins recherchés
+	 */
+	void nearest (int city, int [] neighbours, int offset, int k)
+	{
+		if (this.heapIndex == null || this.heapIndex.length < k)
+		{
+			this.heapIndex = new int [k];
+			this.heapDistance = new double [k];
+		}
+		this.heapSize = 0;
+		this.search (0, this.index.length, city, k);
+		for (int i = this.heapSize - 1; i >= 0; i--)
+		{
+			neighbours [offset + i] = this.heapIndex [0];
+			this.pop ();
+		}
+	}
+
+	private void search (int from, int to, int city, int k)
+	{
+		if (to <= from)
+			return;
+		int mid = (from + to) >>> 1;
+		int c = this.index [mid];
+		if (c != city)
+		{
+			double dx = this.x [c] - this.x [city];
+			double dy = this.y [c] - this.y [city];
+			this.offer (c, dx * dx + dy * dy, k);
+		}
+		double diff = this.splitOnX [mid] ? this.x [city] - this.x [c] : this.y [city] - this.y [c];
+		if (diff < 0)
+		{
+			this.search (from, mid, city, k);
+			if (this.heapSize < k || diff * diff < this.heapDistance [0])
+				this.search (mid + 1, to, city, k);
+		}
+		else
+		{
+			this.search (mid + 1, to, city, k);
+			if (this.heapSize < k || diff * diff < this.heapDistance [0])
+				this.search (from, mid, city, k);
+		}
+	}
+
+	/**
+	 * Tas max des k meilleurs candidats (la racine est le plus éloigné)
+	 */
+	private void offer (int city, double distance, int k)
+	{
+		if (this.heapSize < k)
+		{
+			int i = this.heapSize++;
+			while (i > 0)
+			{
+				int parent = (i - 1) >>> 1;
+				if (this.heapDistance [parent] >= distance)
+					break;
+				this.heapIndex [i] = this.heapIndex [parent];
+				this.heapDistance [i] = this.heapDistance [parent];
+				i = parent;
+			}
+			this.heapIndex [i] = city;
+			this.heapDistance [i] = distance;
+		}
+		else if (distance < this.heapDistance [0])
+			this.siftDown (city, distance);
+	}
+
+	private void pop ()
+	{
+		this.heapSize--;
+		if (this.heapSize > 0)
+			this.siftDown (this.heapIndex [this.heapSize], this.heapDistance [this.heapSize]);
+	}
+
+	private void siftDown (int city, double distance)
+	{
+		int i = 0;
+		while (true)
+		{
+			int child = 2 * i + 1;
+			if (child >= this.heapSize)
+				break;
+			if (child + 1 < this.heapSize && this.heapDistance [child + 1] > this.heapDistance [child])
+				child++;
+			if (this.heapDistance [child] <= distance)
+				break;
+			this.heapIndex [i] = this.heapIndex [child];
+			this.heapDistance [i] = this.heapDistance [child];
+			i = child;
+		}
+		this.heapIndex [i] = city;
+		this.heapDistance [i] = distance;
+	}
+}
@@ -0,0 +1,250 @@
+package tsp.evaluation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesures d'une exécution : compteurs d'appels de l'évaluation, durée des itérations de la boucle principale,
+ * temps jusqu'à la première et jusqu'à la meilleure solution, allocation mémoire du thread du projet
+ * Les compteurs (LongAdder) peuvent être incrémentés par plusieurs threads sans contention ;
+ * l'histogramme et l'allocation ne sont alimentés que par le thread du projet (Project.run)
+ */
+public final class Metrics
+{
+	private static final int NB_BUCKETS = 64;
+
+	private final LongAdder evaluations;
+	private final LongAdder quickEvaluations;
+	private final LongAdder moves;
+	private final LongAdder improvements;
+	private final LongAdder validations;
+	/**
+	 * Histogramme des durées des itérations : la case b compte les durées dans [2^(b-1), 2^b[ nanosecondes
+	 */
+	private final long [] loops;
+	private final AtomicLong firstSolution;
+	private volatile long bestSolution;
+	private volatile long start;
+	private long end;
+	private long allocatedStart;
+	private long allocated;
+
+	/**
+	 * Constructeur
+	 */
+	public Metrics ()
+	{
+		this.evaluations = new LongAdder ();
+		this.quickEvaluations = new LongAdder ();
+		this.moves = new LongAdder ();
+		this.improvements = new LongAdder ();
+		this.validations = new LongAdder ();
+		this.loops = new long [Metrics.NB_BUCKETS];
+		this.firstSolution = new AtomicLong (-1);
+		this.bestSolution = -1;
+		this.start = System.nanoTime ();
+		this.end = -1;
+		this.allocated = -1;
+	}
+
+	/**
+	 * Début de l'exécution, appelé par le thread du projet
+	 */
+	public void start ()
+	{
+		this.start = System.nanoTime ();
+		this.allocatedStart = Metrics.allocatedBytes ();
+	}
+
+	/**
+	 * Fin de l'exécution, appelée par le thread du projet
+	 */
+	public void stop ()
+	{
+		this.end = System.nanoTime ();
+		long allocated = Metrics.allocatedBytes ();
+		this.allocated = allocated < 0 || this.allocatedStart < 0 ? -1 : allocated - this.allocatedStart;
+	}
+
+	/**
+	 * @return Le nombre d'octets alloués par le thread courant (-1 si la JVM ne le permet pas)
+	 */
+	private static long allocatedBytes ()
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean ();
+		if (!(bean instanceof com.sun.management.ThreadMXBean))
+			return -1;
+		com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+		if (!sunBean.isThreadAllocatedMemorySupported () || !sunBean.isThreadAllocatedMemoryEnabled ())
+			return -1;
+		return sunBean.getThreadAllocatedBytes (Thread.currentThread ().getId ());
+	}
+
+	void evaluated ()
+	{
+		this.evaluations.increment ();
+	}
+
+	void quickEvaluated ()
+	{
+		this.quickEvaluations.increment ();
+	}
+
+	void moved ()
+	{
+		this.moves.increment ();
+	}
+
+	void validated ()
+	{
+		this.validations.increment ();
+	}
+
+	void improved ()
+	{
+		long elapsed = System.nanoTime () - this.start;
+		this.improvements.increment ();
+		this.firstSolution.compareAndSet (-1, elapsed);
+		this.bestSolution = elapsed;
+	}
+
+	/**
+	 * Enregistre la durée d'une itération de la boucle principale
+	 * @param nanos La durée en nanosecondes
+	 */
+	public void loop (long nanos)
+	{
+		this.loops [Math.min (Metrics.NB_BUCKETS - 1, 64 - Long.numberOfLeadingZeros (Math.max (0, nanos)))]++;
+	}
+
+	/**
+	 * @return Le nombre d'appels à evaluate
+	 */
+	public long getEvaluations ()
+	{
+		return this.evaluations.sum ();
+	}
+
+	/**
+	 * @return Le nombre d'appels à quickEvaluate
+	 */
+	public long getQuickEvaluations ()
+	{
+		return this.quickEvaluations.sum ();
+	}
+
+	/**
+	 * @return Le nombre de mouvements validés par commitMove sans amélioration de la meilleure solution
+	 */
+	public long getMoves ()
+	{
+		return this.moves.sum ();
+	}
+
+	/**
+	 * @return Le nombre d'améliorations de la meilleure solution
+	 */
+	public long getImprovements ()
+	{
+		return this.improvements.sum ();
+	}
+
+	/**
+	 * @return Le nombre d'appels à isValid
+	 */
+	public long getValidations ()
+	{
+		return this.validations.sum ();
+	}
+
+	/**
+	 * @return Le nombre d'itérations de la boucle principale
+	 */
+	public long getLoops ()
+	{
+		long count = 0;
+		for (long bucket: this.loops)
+			count += bucket;
+		return count;
+	}
+
+	/**
+	 * @param quantile Un quantile entre 0 et 1
+	 * @return Borne supérieure (en nanosecondes) de la durée des itérations pour ce quantile (-1 si aucune itération)
+	 */
+	public long getLoopQuantile (double quantile)
+	{
+		long count = this.getLoops ();
+		if (count == 0)
+			return -1;
+		long rank = (long) Math.ceil (quantile * count), seen = 0;
+		for (int b = 0; b < Metrics.NB_BUCKETS; b++)
+		{
+			seen += this.loops [b];
+			if (seen >= Math.max (1, rank))
+				return b == 0 ? 0 : 1L << Math.min (62, b);
+		}
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * @return Temps écoulé (en nanosecondes) entre le début et la première solution (-1 si aucune)
+	 */
+	public long getTimeToFirstSolution ()
+	{
+		return this.firstSolution.get ();
+	}
+
+	/**
+	 * @return Temps écoulé (en nanosecondes) entre le début et la meilleure solution (-1 si aucune)
+	 */
+	public long getTimeToBest ()
+	{
+		return this.bestSolution;
+	}
+
+	/**
+	 * @return Durée de l'exécution en nanosecondes (jusqu'à maintenant si elle n'est pas terminée)
+	 */
+	public long getElapsed ()
+	{
+		return (this.end < 0 ? System.nanoTime () : this.end) - this.start;
+	}
+
+	/**
+	 * @return Nombre d'octets alloués par le thread du projet pendant l'exécution (-1 si inconnu)
+	 */
+	public long getAllocatedBytes ()
+	{
+		return this.allocated;
+	}
+
+	private static String duration (long nanos)
+	{
+		if (nanos < 0)
+			return "-";
+		if (nanos < 1000000)
+			return String.format ("%.1f µs", nanos / 1e3);
+		if (nanos < 1000000000)
+			return String.format ("%.1f ms", nanos / 1e6);
+		return String.format ("%.2f s", nanos / 1e9);
+	}
+
+	@Override
+	public String toString ()
+	{
+		double seconds = Math.max (1e-9, this.getElapsed () / 1e9);
+		long calls = this.getEvaluations () + this.getQuickEvaluations () + this.getMoves ();
+		String string = String.format ("évaluations %d, rapides %d, mouvements %d, appels %.0f/s, améliorations %d, validations %d",
+			this.getEvaluations (), this.getQuickEvaluations (), this.getMoves (), calls / seconds, this.getImprovements (), this.getValidations ());
+		string += ", itérations " + this.getLoops () + " (médiane " + Metrics.duration (this.getLoopQuantile (0.5))
+			+ ", p99 " + Metrics.duration (this.getLoopQuantile (0.99)) + ", max " + Metrics.duration (this.getLoopQuantile (1)) + ")";
+		string += ", première solution " + Metrics.duration (this.getTimeToFirstSolution ())
+			+ ", meilleure " + Metrics.duration (this.getTimeToBest ());
+		if (this.allocated >= 0)
+			string += String.format (", allocation %.1f Mo/s", this.allocated / seconds / (1 << 20));
+		return string;
+	}
+}
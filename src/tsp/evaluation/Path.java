@@ -45,11 +45,20 @@ public final class Path
 	 * @return Un chemin aléatoire d'une longueur donnée
 	 */
 	public static int [] getRandomPath (int length)
+	{
+		return Path.getRandomPath (length, new Random ());
+	}
+	
+	/**
+	 * @param length Nombre de "villes"
+	 * @param random Générateur aléatoire
+	 * @return Un chemin aléatoire d'une longueur donnée
+	 */
+	public static int [] getRandomPath (int length, Random random)
 	{
 		int [] path = new int [length];
 		for (int i = 0; i < length; i++)
 			path [i] = i;
-		Random random = new Random ();
 		for (int i = length - 1; i > 0; i--)
 		{
 			int j = random.nextInt (i + 1);
@@ -18,6 +18,8 @@ public final class Problem
     private String name;
 	private int length;
 	private double [][] data;
+	private DistanceMatrix distanceMatrix;
+	private CandidateLists candidateLists;
     
     /**
      * @return La liste des problèmes disponibles
@@ -33,6 +35,25 @@ public final class Problem
         return problems;
     }
 
+    /**
+     * @param name Le nom d'un problème (nom du fichier sans extension, par exemple bier127)
+     * @return Le problème correspondant
+     * @throws IllegalArgumentException Si aucun fichier ne correspond
+     */
+    public static Problem getProblem (String name)
+    {
+        File directory = new File (Problem.directory);
+        File [] files = directory.listFiles ();
+        if (files != null)
+        {
+            Arrays.sort (files);
+            for (File file: files)
+                if (file.getName ().equals (name) || file.getName ().startsWith (name + "."))
+                    return new Problem (file.getAbsolutePath ());
+        }
+        throw new IllegalArgumentException ("Problème inconnu : " + name + " (dans " + directory.getAbsolutePath () + ")");
+    }
+
 	private Problem (String filename)
 	{
 	    String [] parts = filename.split ("/|\\.");
@@ -57,6 +78,8 @@ public final class Problem
 				}
 				row++;
 			}
+			this.distanceMatrix = new DistanceMatrix (this.data);
+			this.candidateLists = new CandidateLists (this.distanceMatrix, CandidateLists.DEFAULT_SIZE);
 		}
 		catch (Exception e)
 		{
@@ -87,6 +110,32 @@ public final class Problem
 		return new Coordinates (this.data [index][0], this.data [index][1]);
 	}
 
+	/**
+	 * @return La matrice des distances entre les "villes"
+	 */
+	public DistanceMatrix getDistanceMatrix ()
+	{
+		return this.distanceMatrix;
+	}
+
+	/**
+	 * @return Les listes des plus proches voisins de chaque "ville"
+	 */
+	public CandidateLists getCandidateLists ()
+	{
+		return this.candidateLists;
+	}
+
+	/**
+	 * @param i L'indice d'une "ville"
+	 * @param j L'indice d'une autre "ville"
+	 * @return La distance entre les deux "villes" (sans allocation)
+	 */
+	public double distance (int i, int j)
+	{
+		return this.distanceMatrix.distance (i, j);
+	}
+
 	/**
 	 * @return Le nombre de "villes"
 	 */
@@ -0,0 +1,129 @@
+package tsp.localsearch;
+
+/**
+ * Tournée représentée par un tableau et l'inverse de la permutation (position de chaque "ville")
+ * Une inversion coûte O(n) dans le pire des cas : on inverse toujours le plus court des deux segments
+ */
+public final class ArrayTour implements Tour
+{
+	private final int [] path;
+	private final int [] position;
+	private final int length;
+
+	/**
+	 * Constructeur
+	 * @param path Liste ordonnée des "villes" (le tableau est modifié sur place par les mouvements)
+	 */
+	public ArrayTour (int [] path)
+	{
+		this.path = path;
+		this.length = path.length;
+		this.position = new int [this.length];
+		for (int i = 0; i < this.length; i++)
+			this.position [path [i]] = i;
+	}
+
+	@Override
+	public int getLength ()
+	{
+		return this.length;
+	}
+
+	@Override
+	public int next (int city)
+	{
+		int i = this.position [city] + 1;
+		return this.path [i == this.length ? 0 : i];
+	}
+
+	@Override
+	public int prev (int city)
+	{
+		int i = this.position [city];
+		return this.path [i == 0 ? this.length - 1 : i - 1];
+	}
+
+	@Override
+	public boolean between (int a, int b, int c)
+	{
+		int pa = this.position [a], pb = this.position [b], pc = this.position [c];
+		if (pa <= pc)
+			return pa <= pb && pb <= pc;
+		return pb >= pa || pb <= pc;
+	}
+
+	@Override
+	public void flip (int a, int b, int c, int d)
+	{
+		int from = this.position [b], to = this.position [c];
+		int inside = to - from;
+		if (inside < 0)
+			inside += this.length;
+		// On inverse le plus court des segments b..c et d..a (même tournée, sens opposé)
+		if (2 * (inside + 1) > this.length)
+		{
+			from = this.position [d];
+			to = this.position [a];
+			inside = this.length - 2 - inside;
+		}
+		for (int swaps = (inside + 1) / 2; swaps > 0; swaps--)
+		{
+			int ci = this.path [from], cj = this.path [to];
+			this.path [from] = cj;
+			this.position [cj] = from;
+			this.path [to] = ci;
+			this.position [ci] = to;
+			if (++from == this.length)
+				from = 0;
+			if (--to < 0)
+				to = this.length - 1;
+		}
+	}
+
+	@Override
+	public void load (int [] path)
+	{
+		if (path != this.path)
+			System.arraycopy (path, 0, this.path, 0, this.length);
+		for (int i = 0; i < this.length; i++)
+			this.position [this.path [i]] = i;
+	}
+
+	@Override
+	public void toPath (int [] path)
+	{
+		int start = this.position [0];
+		if (path != this.path)
+		{
+			System.arraycopy (this.path, start, path, 0, this.length - start);
+			System.arraycopy (this.path, 0, path, this.length - start, start);
+		}
+		else if (start != 0)
+		{
+			// Rotation sur place (trois inversions), puis mise à jour des positions
+			ArrayTour.reverse (this.path, 0, start - 1);
+			ArrayTour.reverse (this.path, start, this.length - 1);
+			ArrayTour.reverse (this.path, 0, this.length - 1);
+			for (int i = 0; i < this.length; i++)
+				this.position [this.path [i]] = i;
+		}
+	}
+
+	private static void reverse (int [] path, int from, int to)
+	{
+		for (; from < to; from++, to--)
+		{
+			int city = path [from];
+			path [from] = path [to];
+			path [to] = city;
+		}
+	}
+
+	/**
+	 * @return Le tableau sous-jacent (ordre de visite courant)
+	 */
+	public int [] getPath ()
+	{
+		return this.path;
+	}
+}
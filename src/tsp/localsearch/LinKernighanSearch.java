@@ -0,0 +1,184 @@
+package tsp.localsearch;
+
+import java.util.Random;
+
+import tsp.evaluation.Problem;
+
+/**
+ * Recherche à profondeur variable de type Lin-Kernighan
+ * Chaque étape est un mouvement 2-opt qui garde la tournée valide : on retire (t1, t2), on ajoute (t2, t3),
+ * on retire (t3, t4) et la tournée se referme par (t4, t1), qui devient l'arête à retirer à l'étape suivante
+ * La chaîne est poursuivie tant que le gain partiel reste positif, puis ramenée à sa meilleure profondeur
+ * Au premier niveau, plusieurs choix de t3 sont essayés ; aux niveaux suivants, seul le meilleur est retenu
+ */
+public final class LinKernighanSearch extends NeighbourListSearch
+{
+	private static final int MAX_DEPTH = 50;
+	private static final int BREADTH = 5;
+
+	private final int [] flips;
+	private final int [] used;
+	private int stamp;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 */
+	public LinKernighanSearch (Problem problem)
+	{
+		super (problem);
+		this.flips = new int [4 * LinKernighanSearch.MAX_DEPTH];
+		this.used = new int [problem.getLength ()];
+		this.stamp = 0;
+	}
+
+	@Override
+	protected double improveCity (Tour tour, int t1)
+	{
+		double gain = this.search (tour, t1, tour.next (t1));
+		if (gain == 0)
+			gain = this.search (tour, t1, tour.prev (t1));
+		return gain;
+	}
+
+	private double search (Tour tour, int t1, int t2)
+	{
+		double g0 = this.problem.distance (t1, t2);
+		int tried = 0;
+		for (int rank = 0; rank < this.candidates.getSize () && tried < LinKernighanSearch.BREADTH; rank++)
+		{
+			int t3 = this.candidates.get (t2, rank);
+			double g1 = g0 - this.problem.distance (t2, t3);
+			if (g1 <= EPSILON)
+				break;
+			if (t3 == t1 || t3 == tour.next (t2) || t3 == tour.prev (t2))
+				continue;
+			tried++;
+			this.stamp++;
+			this.used [t1] = this.stamp;
+			this.used [t2] = this.stamp;
+			double gain = this.deepen (tour, t1, t2, t3, g0);
+			if (gain > 0)
+				return gain;
+		}
+		return 0;
+	}
+
+	/**
+	 * Applique la chaîne à partir du premier t3 choisi, puis revient à la meilleure profondeur
+	 * @return Le gain de la chaîne conservée (0 si elle a été entièrement annulée)
+	 */
+	private double deepen (Tour tour, int t1, int t2, int t3, double gain)
+	{
+		int depth = 0;
+		int bestDepth = 0;
+		double bestGain = 0;
+		while (t3 != -1)
+		{
+			int t4 = tour.next (t1) == t2 ? tour.prev (t3) : tour.next (t3);
+			gain += this.problem.distance (t3, t4) - this.problem.distance (t2, t3);
+			if (tour.next (t1) == t2)
+				this.record (tour, depth, t1, t2, t4, t3);
+			else
+				this.record (tour, depth, t2, t1, t3, t4);
+			depth++;
+			this.used [t3] = this.stamp;
+			this.used [t4] = this.stamp;
+			t2 = t4;
+			double closed = gain - this.problem.distance (t1, t2);
+			if (closed > bestGain + EPSILON)
+			{
+				bestGain = closed;
+				bestDepth = depth;
+			}
+			t3 = depth < LinKernighanSearch.MAX_DEPTH ? this.next (tour, t1, t2, gain) : -1;
+		}
+		while (depth > bestDepth)
+			this.undo (tour, --depth);
+		for (int i = 0; i < 4 * bestDepth; i++)
+			this.activate (this.flips [i]);
+		return bestGain;
+	}
+
+	/**
+	 * Choix glouton du t3 suivant : celui qui maximise le gain partiel après retrait de (t3, t4)
+	 */
+	private int next (Tour tour, int t1, int t2, double gain)
+	{
+		boolean forward = tour.next (t1) == t2;
+		int best = -1;
+		double bestScore = EPSILON;
+		for (int rank = 0; rank < this.candidates.getSize (); rank++)
+		{
+			int t3 = this.candidates.get (t2, rank);
+			double g = gain - this.problem.distance (t2, t3);
+			if (g <= EPSILON)
+				break;
+			if (this.used [t3] == this.stamp || t3 == tour.next (t2) || t3 == tour.prev (t2))
+				continue;
+			int t4 = forward ? tour.prev (t3) : tour.next (t3);
+			double score = g + this.problem.distance (t3, t4);
+			if (score > bestScore)
+			{
+				bestScore = score;
+				best = t3;
+			}
+		}
+		return best;
+	}
+
+	private void record (Tour tour, int depth, int a, int b, int c, int d)
+	{
+		tour.flip (a, b, c, d);
+		this.flips [4 * depth] = a;
+		this.flips [4 * depth + 1] = b;
+		this.flips [4 * depth + 2] = c;
+		this.flips [4 * depth + 3] = d;
+	}
+
+	private void undo (Tour tour, int depth)
+	{
+		int a = this.flips [4 * depth], b = this.flips [4 * depth + 1];
+		int c = this.flips [4 * depth + 2], d = this.flips [4 * depth + 3];
+		NeighbourListSearch.move (tour, a, c, b, d);
+	}
+
+	/**
+	 * Perturbation "double bridge" locale : deux segments consécutifs de la tournée sont échangés
+	 * (A B C D devient A C B D), par trois inversions ; les extrémités sont réactivées
+	 * @param tour La tournée
+	 * @param random Générateur aléatoire
+	 * @param maxSegmentLength Longueur maximale des segments échangés
+	 * @return La variation de longueur de la tournée
+	 */
+	public double doubleBridge (Tour tour, Random random, int maxSegmentLength)
+	{
+		int n = tour.getLength ();
+		int maxLength = Math.max (1, Math.min (maxSegmentLength, (n - 2) / 2));
+		int a = random.nextInt (n);
+		int b1 = tour.next (a), b2 = b1;
+		for (int i = random.nextInt (maxLength); i > 0; i--)
+			b2 = tour.next (b2);
+		int c1 = tour.next (b2), c2 = c1;
+		for (int i = random.nextInt (maxLength); i > 0; i--)
+			c2 = tour.next (c2);
+		int d = tour.next (c2);
+		if (d == a || d == b1)
+			return 0;
+		double delta = this.problem.distance (a, c1) + this.problem.distance (c2, b1) + this.problem.distance (b2, d)
+			- this.problem.distance (a, b1) - this.problem.distance (b2, c1) - this.problem.distance (c2, d);
+		// a b1..b2 c1..c2 d  ->  a c2..c1 b2..b1 d
+		tour.flip (a, b1, c2, d);
+		// ->  a c1..c2 b2..b1 d
+		NeighbourListSearch.move (tour, a, c2, c1, b2);
+		// ->  a c1..c2 b1..b2 d
+		NeighbourListSearch.move (tour, c2, b2, b1, d);
+		this.activate (a);
+		this.activate (b1);
+		this.activate (b2);
+		this.activate (c1);
+		this.activate (c2);
+		this.activate (d);
+		return delta;
+	}
+}
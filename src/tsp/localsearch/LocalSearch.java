@@ -0,0 +1,27 @@
+package tsp.localsearch;
+
+/**
+ * Recherche locale appliquée à une tournée (par exemple après une construction)
+ */
+public interface LocalSearch
+{
+	/**
+	 * Améliore la tournée sur place jusqu'à atteindre un optimum local
+	 * @param tour La tournée à améliorer
+	 * @return Le gain obtenu (diminution de la longueur de la tournée)
+	 */
+	double optimize (Tour tour);
+
+	/**
+	 * Améliore un chemin sur place jusqu'à atteindre un optimum local
+	 * @param path Liste ordonnée des "villes" (modifiée)
+	 * @return Le gain obtenu (diminution de la longueur du chemin)
+	 */
+	default double optimize (int [] path)
+	{
+		Tour tour = Tour.of (path);
+		double gain = this.optimize (tour);
+		tour.toPath (path);
+		return gain;
+	}
+}
@@ -0,0 +1,40 @@
+package tsp.localsearch;
+
+/**
+ * Enchaînement de recherches locales, répété tant que l'une d'elles améliore la tournée
+ */
+public final class LocalSearchChain implements LocalSearch
+{
+	private static final double EPSILON = 1e-9;
+
+	private final LocalSearch [] searches;
+
+	/**
+	 * Constructeur
+	 * @param searches Les recherches locales, dans l'ordre où elles sont appliquées
+	 */
+	public LocalSearchChain (LocalSearch... searches)
+	{
+		this.searches = searches;
+	}
+
+	@Override
+	public double optimize (Tour tour)
+	{
+		double gain = 0;
+		boolean improved = true;
+		while (improved)
+		{
+			improved = false;
+			for (int i = 0; i < this.searches.length; i++)
+			{
+				double g = this.searches [i].optimize (tour);
+				gain += g;
+				// Inutile de relancer la première recherche si seule elle a amélioré la tournée
+				if (g > EPSILON && i > 0)
+					improved = true;
+			}
+		}
+		return gain;
+	}
+}
@@ -0,0 +1,101 @@
+package tsp.localsearch;
+
+import tsp.evaluation.CandidateLists;
+import tsp.evaluation.Problem;
+
+/**
+ * Recherche locale guidée par les listes de candidats, avec "don't look bits"
+ * Les "villes" actives sont conservées dans une file : seules les extrémités des arêtes
+ * modifiées par un mouvement sont réactivées
+ * Une instance conserve ses tampons : elle ne doit pas être partagée entre plusieurs threads
+ */
+public abstract class NeighbourListSearch implements LocalSearch
+{
+	protected static final double EPSILON = 1e-9;
+
+	protected final Problem problem;
+	protected final CandidateLists candidates;
+	private final int [] queue;
+	private final boolean [] active;
+	private int head;
+	private int size;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 */
+	public NeighbourListSearch (Problem problem)
+	{
+		this.problem = problem;
+		this.candidates = problem.getCandidateLists ();
+		this.queue = new int [problem.getLength ()];
+		this.active = new boolean [problem.getLength ()];
+	}
+
+	/**
+	 * Réactive une "ville" : elle sera réexaminée au prochain appel à improve
+	 * @param city L'indice de la "ville"
+	 */
+	public void activate (int city)
+	{
+		if (!this.active [city])
+		{
+			this.active [city] = true;
+			int tail = this.head + this.size;
+			this.queue [tail >= this.queue.length ? tail - this.queue.length : tail] = city;
+			this.size++;
+		}
+	}
+
+	private int poll ()
+	{
+		int city = this.queue [this.head];
+		if (++this.head == this.queue.length)
+			this.head = 0;
+		this.size--;
+		this.active [city] = false;
+		return city;
+	}
+
+	@Override
+	public double optimize (Tour tour)
+	{
+		for (int city = 0; city < tour.getLength (); city++)
+			this.activate (city);
+		return this.improve (tour);
+	}
+
+	/**
+	 * Améliore la tournée en ne partant que des "villes" actives
+	 * @param tour La tournée à améliorer
+	 * @return Le gain obtenu
+	 */
+	public double improve (Tour tour)
+	{
+		double gain = 0;
+		while (this.size > 0)
+			gain += this.improveCity (tour, this.poll ());
+		return gain;
+	}
+
+	/**
+	 * Cherche et applique un mouvement améliorant autour d'une "ville"
+	 * Les extrémités des arêtes modifiées doivent être réactivées
+	 * @param tour La tournée
+	 * @param city La "ville" examinée
+	 * @return Le gain du mouvement appliqué (0 si aucun mouvement améliorant n'a été trouvé)
+	 */
+	protected abstract double improveCity (Tour tour, int city);
+
+	/**
+	 * Mouvement 2-opt indépendant du sens de parcours : remplace les arêtes (a, b) et (c, d) par (a, c) et (b, d)
+	 * Il faut que b et d suivent respectivement a et c, ou qu'ils les précèdent tous les deux
+	 */
+	protected static void move (Tour tour, int a, int b, int c, int d)
+	{
+		if (tour.next (a) == b)
+			tour.flip (a, b, c, d);
+		else
+			tour.flip (d, c, b, a);
+	}
+}
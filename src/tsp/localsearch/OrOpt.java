@@ -0,0 +1,128 @@
+package tsp.localsearch;
+
+import tsp.evaluation.Problem;
+
+/**
+ * Or-opt : déplacement d'un segment de 1 à 3 "villes" entre deux autres "villes" consécutives,
+ * à l'endroit ou à l'envers (insertion de segment du 3-opt)
+ * Les positions d'insertion sont prises parmi les plus proches voisins des extrémités du segment
+ */
+public final class OrOpt extends NeighbourListSearch
+{
+	/**
+	 * Longueur maximale des segments déplacés
+	 */
+	public static final int MAX_SEGMENT_LENGTH = 3;
+
+	private final int [] segment;
+
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 */
+	public OrOpt (Problem problem)
+	{
+		super (problem);
+		this.segment = new int [OrOpt.MAX_SEGMENT_LENGTH];
+	}
+
+	@Override
+	protected double improveCity (Tour tour, int city)
+	{
+		int n = tour.getLength ();
+		for (int length = 1; length <= OrOpt.MAX_SEGMENT_LENGTH && length < n - 2; length++)
+		{
+			// Segment commençant par la ville...
+			double gain = this.improveSegment (tour, city, length);
+			if (gain > 0)
+				return gain;
+			// ... puis segment se terminant par la ville
+			if (length > 1)
+			{
+				int first = city;
+				for (int i = 1; i < length; i++)
+					first = tour.prev (first);
+				gain = this.improveSegment (tour, first, length);
+				if (gain > 0)
+					return gain;
+			}
+		}
+		return 0;
+	}
+
+	private boolean inSegment (int city, int length)
+	{
+		for (int i = 0; i < length; i++)
+			if (this.segment [i] == city)
+				return true;
+		return false;
+	}
+
+	private double improveSegment (Tour tour, int s1, int length)
+	{
+		int s2 = s1;
+		this.segment [0] = s1;
+		for (int i = 1; i < length; i++)
+		{
+			s2 = tour.next (s2);
+			this.segment [i] = s2;
+		}
+		int p = tour.prev (s1), nx = tour.next (s2);
+		double removal = this.problem.distance (p, s1) + this.problem.distance (s2, nx) - this.problem.distance (p, nx);
+		if (removal <= EPSILON)
+			return 0;
+		for (int end = 0; end < 2; end++)
+		{
+			int s = end == 0 ? s1 : s2;
+			for (int rank = 0; rank < this.candidates.getSize (); rank++)
+			{
+				int c = this.candidates.get (s, rank);
+				double dsc = this.problem.distance (s, c);
+				if (dsc >= removal)
+					break;
+				if (this.inSegment (c, length))
+					continue;
+				// Insertion entre c et sa suivante, puis entre sa précédente et c
+				for (int side = 0; side < 2; side++)
+				{
+					int u = side == 0 ? c : tour.prev (c);
+					int v = side == 0 ? tour.next (c) : c;
+					if (this.inSegment (u, length) || this.inSegment (v, length))
+						continue;
+					// s1 est relié à c si (s = s1 et c = u) ou (s = s2 et c = v) : le segment garde son sens
+					boolean reversed = (end == 0) != (side == 0);
+					double added = reversed
+						? this.problem.distance (u, s2) + this.problem.distance (s1, v)
+						: this.problem.distance (u, s1) + this.problem.distance (s2, v);
+					double delta = removal + this.problem.distance (u, v) - added;
+					if (delta > EPSILON)
+					{
+						this.apply (tour, p, s1, s2, nx, u, v, reversed);
+						this.activate (p);
+						this.activate (nx);
+						this.activate (s1);
+						this.activate (s2);
+						this.activate (u);
+						this.activate (v);
+						return delta;
+					}
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Déplace le segment s1..s2 (entre p et nx) entre u et v = next (u), par deux ou trois inversions
+	 */
+	private void apply (Tour tour, int p, int s1, int s2, int nx, int u, int v, boolean reversed)
+	{
+		// p s1..s2 nx..u v..p  ->  p u..nx s2..s1 v..p
+		NeighbourListSearch.move (tour, p, s1, u, v);
+		// ->  p nx..u s2..s1 v..p
+		NeighbourListSearch.move (tour, p, u, nx, s2);
+		// ->  p nx..u s1..s2 v..p
+		if (!reversed)
+			NeighbourListSearch.move (tour, u, s2, s1, v);
+	}
+}
@@ -0,0 +1,81 @@
+package tsp.localsearch;
+
+/**
+ * Représentation d'une tournée pour la recherche locale
+ * Contrairement à Path, on accède aux "villes" par leurs voisines dans la tournée,
+ * et les inversions de segments sont déléguées à l'implémentation
+ */
+public interface Tour
+{
+	/**
+	 * Taille à partir de laquelle la liste à deux niveaux est préférée au tableau
+	 */
+	int TWO_LEVEL_LIST_THRESHOLD = 50000;
+
+	/**
+	 * @param path Liste ordonnée des "villes"
+	 * @return Une tournée adaptée à la taille du problème : un ArrayTour (qui modifie le tableau sur place)
+	 * ou, pour les grandes instances, une TwoLevelListTour (qui travaille sur une copie)
+	 */
+	static Tour of (int [] path)
+	{
+		if (path.length >= Tour.TWO_LEVEL_LIST_THRESHOLD)
+			return new TwoLevelListTour (path);
+		return new ArrayTour (path);
+	}
+
+	/**
+	 * @return Le nombre de "villes"
+	 */
+	int getLength ();
+
+	/**
+	 * @param city L'indice d'une "ville"
+	 * @return La "ville" suivante dans la tournée
+	 */
+	int next (int city);
+
+	/**
+	 * @param city L'indice d'une "ville"
+	 * @return La "ville" précédente dans la tournée
+	 */
+	int prev (int city);
+
+	/**
+	 * @param a L'indice d'une "ville"
+	 * @param b L'indice d'une "ville"
+	 * @param c L'indice d'une "ville"
+	 * @return Indique si b est atteinte en allant de a vers c dans le sens de la tournée (bornes incluses)
+	 */
+	boolean between (int a, int b, int c);
+
+	/**
+	 * Mouvement 2-opt : remplace les arêtes (a, b) et (c, d) par (a, c) et (b, d)
+	 * Il faut que b = next (a) et d = next (c) ; le sens de parcours peut être inversé après le mouvement
+	 * @param a L'indice d'une "ville"
+	 * @param b La "ville" suivant a
+	 * @param c L'indice d'une "ville"
+	 * @param d La "ville" suivant c
+	 */
+	void flip (int a, int b, int c, int d);
+
+	/**
+	 * Remplace la tournée par un autre ordre de visite
+	 * @param path Liste ordonnée des "villes" (de la taille de la tournée)
+	 */
+	void load (int [] path);
+
+	/**
+	 * Recopie la tournée dans un tableau, en partant de la "ville" 0
+	 * @param path Le tableau à remplir (de la taille de la tournée)
+	 */
+	default void toPath (int [] path)
+	{
+		int city = 0;
+		for (int i = 0; i < path.length; i++)
+		{
+			path [i] = city;
+			city = this.next (city);
+		}
+	}
+}
@@ -0,0 +1,415 @@
+package tsp.localsearch;
+
+import java.util.Arrays;
+
+import tsp.evaluation.Path;
+
+/**
+ * Tournée représentée par une liste doublement chaînée à deux niveaux
+ * La tournée est découpée en segments d'environ √n "villes" ; chaque segment a un bit d'inversion,
+ * un rang dans la liste des segments, et stocke ses "villes" dans un tableau
+ * Une inversion découpe au plus deux segments puis inverse l'ordre d'une chaîne de segments
+ * (en basculant leurs bits d'inversion) : elle coûte O(√n) au lieu de O(n)
+ */
+public final class TwoLevelListTour implements Tour
+{
+	private static final int MIN_GROUP_SIZE = 8;
+
+	private final int length;
+	private final int groupSize;
+	private final int [] segment;
+	private final int [] index;
+	private int [][] cities;
+	private int [] size;
+	private boolean [] reversed;
+	private int [] nextSegment;
+	private int [] prevSegment;
+	private int [] rank;
+	private int [] free;
+	private int freeCount;
+	private int allocated;
+	private int segmentCount;
+	private int head;
+	private int [] chain;
+
+	/**
+	 * Constructeur
+	 * @param path Liste ordonnée des "villes" (le tableau n'est pas modifié)
+	 */
+	public TwoLevelListTour (int [] path)
+	{
+		this.length = path.length;
+		this.groupSize = Math.max (TwoLevelListTour.MIN_GROUP_SIZE, (int) Math.sqrt (this.length));
+		this.segment = new int [this.length];
+		this.index = new int [this.length];
+		int capacity = 2 * (this.length / this.groupSize + 1);
+		this.cities = new int [capacity][];
+		this.size = new int [capacity];
+		this.reversed = new boolean [capacity];
+		this.nextSegment = new int [capacity];
+		this.prevSegment = new int [capacity];
+		this.rank = new int [capacity];
+		this.free = new int [capacity];
+		this.chain = new int [capacity];
+		this.load (path);
+	}
+
+	/**
+	 * Constructeur
+	 * @param path Un chemin
+	 */
+	public TwoLevelListTour (Path path)
+	{
+		this (path.getPath ());
+	}
+
+	@Override
+	public void load (int [] path)
+	{
+		this.freeCount = 0;
+		this.allocated = 0;
+		this.segmentCount = 0;
+		int previous = -1;
+		for (int from = 0; from < this.length; from += this.groupSize)
+		{
+			int s = this.allocate ();
+			int to = Math.min (this.length, from + this.groupSize);
+			for (int i = from; i < to; i++)
+			{
+				this.cities [s][i - from] = path [i];
+				this.segment [path [i]] = s;
+				this.index [path [i]] = i - from;
+			}
+			this.size [s] = to - from;
+			if (previous == -1)
+				this.head = s;
+			else
+			{
+				this.nextSegment [previous] = s;
+				this.prevSegment [s] = previous;
+			}
+			previous = s;
+		}
+		this.nextSegment [previous] = this.head;
+		this.prevSegment [this.head] = previous;
+		this.renumber ();
+	}
+
+	/**
+	 * @return Le chemin correspondant à la tournée
+	 */
+	public Path getPath ()
+	{
+		int [] path = new int [this.length];
+		this.toPath (path);
+		return new Path (path);
+	}
+
+	private int allocate ()
+	{
+		int s;
+		if (this.freeCount > 0)
+			s = this.free [--this.freeCount];
+		else
+		{
+			if (this.allocated == this.size.length)
+				this.grow ();
+			s = this.allocated++;
+			if (this.cities [s] == null)
+				this.cities [s] = new int [this.groupSize];
+		}
+		this.size [s] = 0;
+		this.reversed [s] = false;
+		this.segmentCount++;
+		return s;
+	}
+
+	private void release (int s)
+	{
+		this.free [this.freeCount++] = s;
+		this.segmentCount--;
+	}
+
+	private void grow ()
+	{
+		int capacity = 2 * this.size.length;
+		this.cities = Arrays.copyOf (this.cities, capacity);
+		this.size = Arrays.copyOf (this.size, capacity);
+		this.reversed = Arrays.copyOf (this.reversed, capacity);
+		this.nextSegment = Arrays.copyOf (this.nextSegment, capacity);
+		this.prevSegment = Arrays.copyOf (this.prevSegment, capacity);
+		this.rank = Arrays.copyOf (this.rank, capacity);
+		this.free = Arrays.copyOf (this.free, capacity);
+		this.chain = Arrays.copyOf (this.chain, capacity);
+	}
+
+	private void renumber ()
+	{
+		int s = this.head;
+		for (int r = 0; r < this.segmentCount; r++)
+		{
+			this.rank [s] = r;
+			s = this.nextSegment [s];
+		}
+	}
+
+	/**
+	 * Position d'une "ville" dans son segment, dans le sens de la tournée
+	 */
+	private int position (int city)
+	{
+		int s = this.segment [city];
+		return this.reversed [s] ? this.size [s] - 1 - this.index [city] : this.index [city];
+	}
+
+	private int cityAt (int s, int position)
+	{
+		return this.cities [s][this.reversed [s] ? this.size [s] - 1 - position : position];
+	}
+
+	@Override
+	public int getLength ()
+	{
+		return this.length;
+	}
+
+	@Override
+	public int next (int city)
+	{
+		int s = this.segment [city];
+		int p = this.position (city) + 1;
+		if (p < this.size [s])
+			return this.cityAt (s, p);
+		return this.cityAt (this.nextSegment [s], 0);
+	}
+
+	@Override
+	public int prev (int city)
+	{
+		int s = this.segment [city];
+		int p = this.position (city) - 1;
+		if (p >= 0)
+			return this.cityAt (s, p);
+		s = this.prevSegment [s];
+		return this.cityAt (s, this.size [s] - 1);
+	}
+
+	private long key (int city)
+	{
+		return (long) this.rank [this.segment [city]] * this.length + this.position (city);
+	}
+
+	@Override
+	public boolean between (int a, int b, int c)
+	{
+		long ka = this.key (a), kb = this.key (b), kc = this.key (c);
+		if (ka <= kc)
+			return ka <= kb && kb <= kc;
+		return kb >= ka || kb <= kc;
+	}
+
+	@Override
+	public void flip (int a, int b, int c, int d)
+	{
+		if (a == c || b == c || d == a)
+			return;
+		if (this.reverseInside (b, c) || this.reverseInside (d, a))
+			return;
+		this.splitBefore (b);
+		this.splitBefore (d);
+		int first1 = this.segment [b], last1 = this.segment [c];
+		int first2 = this.segment [d], last2 = this.segment [a];
+		int count1 = this.rank [last1] - this.rank [first1];
+		if (count1 < 0)
+			count1 += this.segmentCount;
+		if (2 * (count1 + 1) <= this.segmentCount)
+			this.reverseChain (first1, last1, count1 + 1);
+		else
+			this.reverseChain (first2, last2, this.segmentCount - count1 - 1);
+		this.mergeAround (this.segment [a]);
+		this.mergeAround (this.segment [b]);
+		this.mergeAround (this.segment [c]);
+		this.mergeAround (this.segment [d]);
+		if (this.segmentCount > 4 * (this.length / this.groupSize + 1))
+		{
+			int [] path = new int [this.length];
+			this.toPath (path);
+			this.load (path);
+		}
+	}
+
+	/**
+	 * Inverse sur place le chemin from..to s'il est contenu dans un seul segment
+	 */
+	private boolean reverseInside (int from, int to)
+	{
+		int s = this.segment [from];
+		if (s != this.segment [to] || this.position (from) > this.position (to))
+			return false;
+		int i = this.index [from], j = this.index [to];
+		if (i > j)
+		{
+			int tmp = i;
+			i = j;
+			j = tmp;
+		}
+		int [] array = this.cities [s];
+		while (i < j)
+		{
+			int ci = array [i], cj = array [j];
+			array [i] = cj;
+			this.index [cj] = i;
+			array [j] = ci;
+			this.index [ci] = j;
+			i++;
+			j--;
+		}
+		return true;
+	}
+
+	/**
+	 * Remet le segment dans le sens de la tournée (bit d'inversion à faux)
+	 */
+	private void normalize (int s)
+	{
+		if (this.reversed [s])
+		{
+			int [] array = this.cities [s];
+			for (int i = 0, j = this.size [s] - 1; i < j; i++, j--)
+			{
+				int tmp = array [i];
+				array [i] = array [j];
+				array [j] = tmp;
+			}
+			for (int i = 0; i < this.size [s]; i++)
+				this.index [array [i]] = i;
+			this.reversed [s] = false;
+		}
+	}
+
+	/**
+	 * Découpe le segment de la "ville" pour qu'elle en soit la première, en déplaçant la plus petite partie
+	 */
+	private void splitBefore (int city)
+	{
+		int s = this.segment [city];
+		int k = this.position (city);
+		if (k == 0)
+			return;
+		this.normalize (s);
+		int t = this.allocate ();
+		int [] from = this.cities [s], to = this.cities [t];
+		int n = this.size [s];
+		if (2 * k >= n)
+		{
+			// La fin du segment part dans un nouveau segment placé après
+			for (int i = k; i < n; i++)
+			{
+				to [i - k] = from [i];
+				this.segment [from [i]] = t;
+				this.index [from [i]] = i - k;
+			}
+			this.size [t] = n - k;
+			this.size [s] = k;
+			this.link (s, t);
+		}
+		else
+		{
+			// Le début du segment part dans un nouveau segment placé avant
+			for (int i = 0; i < k; i++)
+			{
+				to [i] = from [i];
+				this.segment [from [i]] = t;
+				this.index [from [i]] = i;
+			}
+			for (int i = k; i < n; i++)
+			{
+				from [i - k] = from [i];
+				this.index [from [i]] = i - k;
+			}
+			this.size [t] = k;
+			this.size [s] = n - k;
+			this.link (this.prevSegment [s], t);
+		}
+		this.renumber ();
+	}
+
+	/**
+	 * Insère le segment t après le segment s
+	 */
+	private void link (int s, int t)
+	{
+		int n = this.nextSegment [s];
+		this.nextSegment [s] = t;
+		this.prevSegment [t] = s;
+		this.nextSegment [t] = n;
+		this.prevSegment [n] = t;
+	}
+
+	/**
+	 * Inverse l'ordre d'une chaîne de segments et bascule leurs bits d'inversion
+	 */
+	private void reverseChain (int first, int last, int count)
+	{
+		int before = this.prevSegment [first], after = this.nextSegment [last];
+		int s = first;
+		for (int i = 0; i < count; i++)
+		{
+			this.chain [i] = s;
+			s = this.nextSegment [s];
+		}
+		int firstRank = this.rank [first];
+		int previous = before;
+		for (int i = count - 1; i >= 0; i--)
+		{
+			s = this.chain [i];
+			this.reversed [s] = !this.reversed [s];
+			this.nextSegment [previous] = s;
+			this.prevSegment [s] = previous;
+			int r = firstRank + count - 1 - i;
+			this.rank [s] = r >= this.segmentCount ? r - this.segmentCount : r;
+			if (this.rank [s] == 0)
+				this.head = s;
+			previous = s;
+		}
+		this.nextSegment [previous] = after;
+		this.prevSegment [after] = previous;
+	}
+
+	private void mergeAround (int s)
+	{
+		int previous = this.prevSegment [s];
+		if (this.merge (previous, s))
+			s = previous;
+		this.merge (s, this.nextSegment [s]);
+	}
+
+	/**
+	 * Fusionne le segment t dans le segment s qui le précède, s'ils tiennent dans un seul segment
+	 */
+	private boolean merge (int s, int t)
+	{
+		if (s == t || this.size [s] + this.size [t] > this.groupSize)
+			return false;
+		this.normalize (s);
+		this.normalize (t);
+		int [] array = this.cities [s];
+		int n = this.size [s];
+		for (int i = 0; i < this.size [t]; i++)
+		{
+			int city = this.cities [t][i];
+			array [n + i] = city;
+			this.segment [city] = s;
+			this.index [city] = n + i;
+		}
+		this.size [s] = n + this.size [t];
+		int after = this.nextSegment [t];
+		this.nextSegment [s] = after;
+		this.prevSegment [after] = s;
+		if (t == this.head)
+			this.head = s;
+		this.release (t);
+		this.renumber ();
+		return true;
+	}
+}
@@ -0,0 +1,61 @@
+package tsp.localsearch;
+
+import tsp.evaluation.Problem;
+
+/**
+ * 2-opt restreint aux listes de candidats, avec "don't look bits" et première amélioration
+ * Le retour à la ville de départ est une arête comme les autres
+ */
+public final class TwoOpt extends NeighbourListSearch
+{
+	/**
+	 * Constructeur
+	 * @param problem Le problème TSP
+	 */
+	public TwoOpt (Problem problem)
+	{
+		super (problem);
+	}
+
+	@Override
+	protected double improveCity (Tour tour, int a)
+	{
+		double gain = this.improveCity (tour, a, true);
+		if (gain == 0)
+			gain = this.improveCity (tour, a, false);
+		return gain;
+	}
+
+	/**
+	 * Cherche un mouvement améliorant qui retire l'arête entre a et sa suivante (ou sa précédente)
+	 */
+	private double improveCity (Tour tour, int a, boolean forward)
+	{
+		int b = forward ? tour.next (a) : tour.prev (a);
+		double dab = this.problem.distance (a, b);
+		for (int rank = 0; rank < this.candidates.getSize (); rank++)
+		{
+			int c = this.candidates.get (a, rank);
+			double g1 = dab - this.problem.distance (a, c);
+			if (g1 <= EPSILON)
+				break;
+			int d = forward ? tour.next (c) : tour.prev (c);
+			if (c == b || d == a)
+				continue;
+			double delta = g1 + this.problem.distance (c, d) - this.problem.distance (b, d);
+			if (delta > EPSILON)
+			{
+				if (forward)
+					tour.flip (a, b, c, d);
+				else
+					tour.flip (b, a, d, c);
+				this.activate (a);
+				this.activate (b);
+				this.activate (c);
+				this.activate (d);
+				return delta;
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,172 @@
+package tsp.output;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import tsp.evaluation.EvaluationListener;
+
+/**
+ * Trace de convergence d'une exécution dans un fichier CSV (temps en microsecondes, évaluation courante, meilleure évaluation)
+ * Les threads du solveur écrivent dans un tampon circulaire préalloué, sans verrou ni allocation ;
+ * un thread d'arrière-plan le vide dans le fichier
+ * Les améliorations sont toujours enregistrées, les autres évaluations au plus une fois par INTERVAL ;
+ * si le tampon est plein, l'échantillon est perdu (le solveur n'attend jamais)
+ */
+public final class TraceWriter implements EvaluationListener
+{
+	private static final int CAPACITY = 1 << 16;
+	private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos (1);
+	private static final long PERIOD = TimeUnit.MILLISECONDS.toNanos (50);
+
+	private final long start;
+	private final long [] times;
+	private final double [] currents;
+	private final double [] bests;
+	/**
+	 * Numéro de séquence publié pour chaque case : le numéro de l'échantillon + 1 une fois écrit
+	 */
+	private final AtomicLongArray published;
+	private final AtomicLong head;
+	private volatile long tail;
+	private volatile long last;
+	private final AtomicLong dropped;
+	private final BufferedWriter writer;
+	private final Thread consumer;
+	private volatile boolean running;
+
+	/**
+	 * Constructeur : ouvre le fichier et démarre le thread d'écriture
+	 * @param path Chemin vers le fichier
+	 * @throws IOException Si le fichier ne peut pas être créé
+	 */
+	public TraceWriter (String path) throws IOException
+	{
+		this.start = System.nanoTime ();
+		this.times = new long [TraceWriter.CAPACITY];
+		this.currents = new double [TraceWriter.CAPACITY];
+		this.bests = new double [TraceWriter.CAPACITY];
+		this.published = new AtomicLongArray (TraceWriter.CAPACITY);
+		this.head = new AtomicLong ();
+		this.tail = 0;
+		this.last = this.start - TraceWriter.INTERVAL;
+		this.dropped = new AtomicLong ();
+		this.writer = new BufferedWriter (new FileWriter (path));
+		this.writer.write ("temps,courante,meilleure\n");
+		this.running = true;
+		this.consumer = new Thread (this::drainLoop, "trace-writer");
+		this.consumer.setDaemon (true);
+		this.consumer.start ();
+	}
+
+	@Override
+	public void evaluated (double current, double best)
+	{
+		long now = System.nanoTime ();
+		if (now - this.last < TraceWriter.INTERVAL)
+			return;
+		this.last = now;
+		this.record (now, current, best);
+	}
+
+	@Override
+	public void improved (int [] path, double evaluation)
+	{
+		long now = System.nanoTime ();
+		this.last = now;
+		this.record (now, evaluation, evaluation);
+	}
+
+	private void record (long time, double current, double best)
+	{
+		long sequence;
+		do
+		{
+			sequence = this.head.get ();
+			if (sequence - this.tail >= TraceWriter.CAPACITY)
+			{
+				this.dropped.incrementAndGet ();
+				return;
+			}
+		}
+		while (!this.head.compareAndSet (sequence, sequence + 1));
+		int slot = (int) (sequence & (TraceWriter.CAPACITY - 1));
+		this.times [slot] = time - this.start;
+		this.currents [slot] = current;
+		this.bests [slot] = best;
+		this.published.lazySet (slot, sequence + 1);
+	}
+
+	private void drainLoop ()
+	{
+		while (this.running)
+		{
+			this.drain ();
+			LockSupport.parkNanos (TraceWriter.PERIOD);
+		}
+	}
+
+	/**
+	 * Écrit les échantillons publiés, dans l'ordre des numéros de séquence
+	 */
+	private void drain ()
+	{
+		long sequence = this.tail;
+		try
+		{
+			while (true)
+			{
+				int slot = (int) (sequence & (TraceWriter.CAPACITY - 1));
+				if (this.published.get (slot) != sequence + 1)
+					break;
+				this.writer.write (Long.toString (this.times [slot] / 1000));
+				this.writer.write (',');
+				this.writer.write (Double.toString (this.currents [slot]));
+				this.writer.write (',');
+				this.writer.write (Double.toString (this.bests [slot]));
+				this.writer.write ('\n');
+				this.tail = ++sequence;
+			}
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace ();
+			this.running = false;
+		}
+	}
+
+	/**
+	 * @return Le nombre d'échantillons perdus faute de place dans le tampon
+	 */
+	public long getDropped ()
+	{
+		return this.dropped.get ();
+	}
+
+	/**
+	 * Arrête le thread d'écriture, écrit les derniers échantillons et ferme le fichier
+	 */
+	public void close ()
+	{
+		this.running = false;
+		LockSupport.unpark (this.consumer);
+		try
+		{
+			this.consumer.join ();
+			this.drain ();
+			this.writer.close ();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread ().interrupt ();
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace ();
+		}
+	}
+}
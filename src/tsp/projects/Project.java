@@ -1,8 +1,10 @@
 package tsp.projects;
 
 import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
 import tsp.evaluation.Evaluation;
+import tsp.evaluation.Metrics;
 import tsp.evaluation.Problem;
 import tsp.evaluation.Solution;
 
@@ -16,6 +18,7 @@ public abstract class Project implements Runnable
 	protected Problem problem;
     private String name;
     private ArrayList <String> authors;
+    private long seed;
 
 	/**
 	 * Constructeur
@@ -28,8 +31,27 @@ public abstract class Project implements Runnable
 		this.problem = evaluation.getProblem ();
         this.name = "";
         this.authors = new ArrayList <String> ();
+        this.seed = ThreadLocalRandom.current ().nextLong ();
 	}
 
+    /**
+     * Fixe la graine des générateurs aléatoires de la méthode
+     * Doit être appelé avant le lancement (les générateurs sont créés à l'initialisation)
+     * @param seed La graine
+     */
+    public void setSeed (long seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * @return La graine à utiliser pour les générateurs aléatoires (différente pour chaque instance)
+     */
+    public long getSeed ()
+    {
+        return this.seed;
+    }
+
     /**
      * Fonction pour donner un nom au bot (soyez imaginatifs !)
      * Doit être appelé dans le constructeur des classes dérivées
@@ -91,6 +113,8 @@ public abstract class Project implements Runnable
 	@Override
 	public void run ()
 	{
+		Metrics metrics = this.evaluation.getMetrics ();
+		metrics.start ();
 		try
 		{
 			this.initialization ();
@@ -100,6 +124,8 @@ public abstract class Project implements Runnable
 			System.out.println (e);
 		}
 		while (!Thread.currentThread ().isInterrupted ())
+		{
+			long start = System.nanoTime ();
 			try
 			{
 				this.loop ();
@@ -108,5 +134,8 @@ public abstract class Project implements Runnable
 			{
 				System.out.println (e);
 			}
+			metrics.loop (System.nanoTime () - start);
+		}
+		metrics.stop ();
 	}
 }
@@ -2,7 +2,7 @@ package tsp.projects.demo.greedy;
 
 import java.util.Random;
 
-import tsp.evaluation.Coordinates;
+import tsp.evaluation.CandidateLists;
 import tsp.evaluation.Evaluation;
 import tsp.evaluation.Path;
 import tsp.projects.InvalidProjectException;
@@ -34,24 +34,31 @@ public class Greedy extends DemoProject
 	{
 		int [] path = new int [length];
 		boolean [] used = new boolean [length];
+		CandidateLists candidates = this.problem.getCandidateLists ();
 		int init = this.random.nextInt (length);
 		path [0] = init;
 		used [init] = true;
 		for (int i = 1; i < length; i++)
 		{
-			Coordinates current = this.problem.getCoordinates (path [i - 1]);
-			double minDist = Double.MAX_VALUE;
+			int current = path [i - 1];
 			int nn = -1;
-			for (int j = 0; j < length; j++)
+			// Les voisins sont triés : le premier non utilisé est le plus proche
+			for (int k = 0; nn == -1 && k < candidates.getSize (); k++)
+				if (!used [candidates.get (current, k)])
+					nn = candidates.get (current, k);
+			if (nn == -1)
 			{
-				if (!used [j])
+				double minDist = Double.MAX_VALUE;
+				for (int j = 0; j < length; j++)
 				{
-					Coordinates tmp = this.problem.getCoordinates (j);
-					double dist = current.distance (tmp);
-					if (dist < minDist)
+					if (!used [j])
 					{
-						minDist = dist;
-						nn = j;
+						double dist = this.problem.distance (current, j);
+						if (dist < minDist)
+						{
+							minDist = dist;
+							nn = j;
+						}
 					}
 				}
 			}
@@ -64,7 +71,7 @@ public class Greedy extends DemoProject
 	@Override
 	public void initialization ()
 	{
-		this.random = new Random ();
+		this.random = new Random (this.getSeed ());
 		this.length = this.problem.getLength ();
 	}
 
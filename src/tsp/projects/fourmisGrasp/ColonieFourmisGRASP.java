@@ -1,13 +1,20 @@
 package tsp.projects.fourmisGrasp;
 
-import tsp.evaluation.Coordinates;
+import tsp.aco.CandidatePheromones;
+import tsp.construction.GraspConstruction;
 import tsp.evaluation.Evaluation;
 import tsp.evaluation.Path;
+import tsp.localsearch.LocalSearch;
+import tsp.localsearch.LocalSearchChain;
+import tsp.localsearch.OrOpt;
+import tsp.localsearch.TwoOpt;
 import tsp.projects.CompetitorProject;
 import tsp.projects.InvalidProjectException;
 
 import java.util.ArrayList;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 public class ColonieFourmisGRASP extends CompetitorProject {
     private static final int NB_FOURMIS = 130;
@@ -15,12 +22,20 @@ public class ColonieFourmisGRASP extends CompetitorProject {
     private static final double TAUX_EVAPORATION = 0.5;
     private static final double Q = 100.0;
     private static final double PHEROMONE_INITIAL = 0.1;
+    private static final double ALPHA_GRASP = 0.2;
 
     private Random random;
+    // Générateur maître : chaque fourmi reçoit à chaque itération un générateur dérivé,
+    // dans l'ordre des fourmis, pour que les exécutions à graine fixée soient reproductibles
+    private SplittableRandom generateur;
+    // Une construction GRASP par thread (elles gardent leurs tampons entre deux appels)
+    private ThreadLocal<GraspConstruction> construction;
     private Evaluation evaluation;
-    private double[][] pheromones;
+    private CandidatePheromones pheromones;
     private Path meilleurChemin;
     private double meilleureDistance;
+    // Une recherche locale par thread (elles gardent un état entre deux appels)
+    private ThreadLocal<LocalSearch> rechercheLocale;
 
     public ColonieFourmisGRASP(Evaluation evaluation) throws InvalidProjectException {
         super(evaluation);
@@ -28,24 +43,24 @@ public class ColonieFourmisGRASP extends CompetitorProject {
         this.addAuthor("Emma Houver");
         this.setMethodName("Colonie de fourmis + GRASP");
         this.evaluation = evaluation;
-        this.random = new Random();
     }
 
     @Override
     public void initialization() {
         int nbVilles = this.problem.getLength();
+        this.random = new Random(this.getSeed());
+        this.generateur = new SplittableRandom(this.getSeed());
+        this.construction = ThreadLocal.withInitial(() -> new GraspConstruction(this.problem, ALPHA_GRASP));
         initialiserPheromones(nbVilles);
-        this.meilleurChemin = new Path(nbVilles);
+        this.rechercheLocale = ThreadLocal.withInitial(
+                () -> new LocalSearchChain(new TwoOpt(this.problem), new OrOpt(this.problem)));
+        this.meilleurChemin = new Path(Path.getRandomPath(nbVilles, this.random));
         this.meilleureDistance = Double.MAX_VALUE;
     }
 
     private void initialiserPheromones(int nbVilles) {
-        pheromones = new double[nbVilles][nbVilles];
-        for (int i = 0; i < nbVilles; i++) {
-            for (int j = 0; j < nbVilles; j++) {
-                pheromones[i][j] = PHEROMONE_INITIAL;
-            }
-        }
+        // Phéromones restreintes aux plus proches voisins : O(n.k) en mémoire et en temps par itération
+        pheromones = new CandidatePheromones(this.problem, PHEROMONE_INITIAL);
     }
 
     @Override
@@ -60,12 +75,24 @@ public class ColonieFourmisGRASP extends CompetitorProject {
                 System.out.println("Temps écoulé : arrêt de l'algorithme.");
                 break;
             }
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
 
             ArrayList<Path> cheminsFourmis = new ArrayList<>();
             ArrayList<Double> distancesFourmis = new ArrayList<>();
 
+            // Construction et recherche locale en parallèle, mise en commun dans l'ordre des fourmis
+            SplittableRandom[] generateurs = new SplittableRandom[NB_FOURMIS];
+            for (int fourmi = 0; fourmi < NB_FOURMIS; fourmi++) {
+                generateurs[fourmi] = this.generateur.split();
+            }
+            CheminEtDistance[] resultats = new CheminEtDistance[NB_FOURMIS];
+            IntStream.range(0, NB_FOURMIS).parallel()
+                    .forEach(fourmi -> resultats[fourmi] = construireCheminGRASP(nbVilles, generateurs[fourmi]));
+
             for (int fourmi = 0; fourmi < NB_FOURMIS; fourmi++) {
-                CheminEtDistance resultat = construireCheminGRASP(nbVilles);
+                CheminEtDistance resultat = resultats[fourmi];
                 cheminsFourmis.add(resultat.chemin);
                 distancesFourmis.add(resultat.distance);
 
@@ -84,100 +111,25 @@ public class ColonieFourmisGRASP extends CompetitorProject {
     }
 
 
-    private CheminEtDistance construireCheminGRASP(int nbVilles) {
+    private CheminEtDistance construireCheminGRASP(int nbVilles, SplittableRandom random) {
         int[] chemin = new int[nbVilles];
-        boolean[] visite = new boolean[nbVilles];
-
-        int villeCourante = random.nextInt(nbVilles);
-        chemin[0] = villeCourante;
-        visite[villeCourante] = true;
-
-        for (int etape = 1; etape < nbVilles; etape++) {
-            int villeSuivante = choisirVilleSuivanteGRASP(villeCourante, visite);
-            chemin[etape] = villeSuivante;
-            visite[villeSuivante] = true;
-            villeCourante = villeSuivante;
-        }
+        this.construction.get().construct(chemin, random);
 
         Path path = new Path(chemin);
-        double distance = this.evaluation.quickEvaluate(path);
-        Path cheminAmeliore = ameliorationLocale2Opt(path);
-        double distanceAmelioree = this.evaluation.quickEvaluate(cheminAmeliore);
+        Path cheminAmeliore = ameliorationLocale(path);
+        double distanceAmelioree = this.evaluation.pathLength(cheminAmeliore.getPath());
 
         return new CheminEtDistance(cheminAmeliore, distanceAmelioree);
     }
 
-    private int choisirVilleSuivanteGRASP(int villeCourante, boolean[] visite) {
-        ArrayList<Integer> candidats = new ArrayList<>();
-        double minDistance = Double.MAX_VALUE, maxDistance = Double.MIN_VALUE;
-
-        for (int ville = 0; ville < visite.length; ville++) {
-            if (!visite[ville]) {
-                double distance = calculerDistance(villeCourante, ville);
-                if (distance < minDistance) minDistance = distance;
-                if (distance > maxDistance) maxDistance = distance;
-                candidats.add(ville);
-            }
-        }
-
-        double seuil = minDistance + 0.2 * (maxDistance - minDistance);
-        ArrayList<Integer> RCL = new ArrayList<>();
-
-        for (int ville : candidats) {
-            if (calculerDistance(villeCourante, ville) <= seuil) {
-                RCL.add(ville);
-            }
-        }
-
-        return RCL.get(random.nextInt(RCL.size()));
-    }
-
-    private Path ameliorationLocale2Opt(Path chemin) {
+    private Path ameliorationLocale(Path chemin) {
         int[] villes = chemin.getPath();
-        boolean amelioration = true;
-
-        while (amelioration) {
-            amelioration = false;
-
-            for (int i = 1; i < villes.length - 2; i++) {
-                for (int j = i + 1; j < villes.length - 1; j++) {
-                    if (calculerGain2Opt(villes, i, j) > 0) {
-                        inverserSegment(villes, i, j);
-                        amelioration = true;
-                    }
-                }
-            }
-        }
-
+        this.rechercheLocale.get().optimize(villes);
         return new Path(villes);
     }
 
-    private double calculerGain2Opt(int[] villes, int i, int j) {
-        int villeA = villes[i - 1], villeB = villes[i];
-        int villeC = villes[j], villeD = villes[j + 1];
-
-        double ancienneDistance = calculerDistance(villeA, villeB) + calculerDistance(villeC, villeD);
-        double nouvelleDistance = calculerDistance(villeA, villeC) + calculerDistance(villeB, villeD);
-
-        return ancienneDistance - nouvelleDistance;
-    }
-
-    private void inverserSegment(int[] villes, int i, int j) {
-        while (i < j) {
-            int temp = villes[i];
-            villes[i] = villes[j];
-            villes[j] = temp;
-            i++;
-            j--;
-        }
-    }
-
     private void evaporerPheromones(int nbVilles) {
-        for (int i = 0; i < nbVilles; i++) {
-            for (int j = 0; j < nbVilles; j++) {
-                pheromones[i][j] *= (1.0 - TAUX_EVAPORATION);
-            }
-        }
+        pheromones.evaporate(TAUX_EVAPORATION);
     }
 
     private void deposerPheromones(ArrayList<Path> chemins, ArrayList<Double> distances) {
@@ -188,18 +140,11 @@ public class ColonieFourmisGRASP extends CompetitorProject {
             double quantitePheromones = Q / distance;
 
             for (int i = 0; i < villes.length - 1; i++) {
-                pheromones[villes[i]][villes[i + 1]] += quantitePheromones;
-                pheromones[villes[i + 1]][villes[i]] += quantitePheromones;
+                pheromones.deposit(villes[i], villes[i + 1], quantitePheromones);
             }
         }
     }
 
-    private double calculerDistance(int ville1, int ville2) {
-        Coordinates c1 = this.problem.getCoordinates(ville1);
-        Coordinates c2 = this.problem.getCoordinates(ville2);
-        return c1.distance(c2);
-    }
-
     private class CheminEtDistance {
         Path chemin;
         double distance;
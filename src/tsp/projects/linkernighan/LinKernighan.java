@@ -0,0 +1,71 @@
+package tsp.projects.linkernighan;
+
+import java.util.Random;
+
+import tsp.construction.GreedyEdgeConstruction;
+import tsp.evaluation.Evaluation;
+import tsp.evaluation.Path;
+import tsp.localsearch.LinKernighanSearch;
+import tsp.localsearch.LocalSearchChain;
+import tsp.localsearch.OrOpt;
+import tsp.localsearch.Tour;
+import tsp.projects.CompetitorProject;
+import tsp.projects.InvalidProjectException;
+
+/**
+ * Lin-Kernighan itéré : la tournée initiale (gloutonne par arêtes) est optimisée par Lin-Kernighan et Or-opt,
+ * puis chaque essai la perturbe par un "double bridge" local et la réoptimise par Lin-Kernighan
+ * à partir des seules "villes" touchées
+ * L'essai est conservé s'il ne dégrade pas la tournée, sinon on repart de la meilleure
+ */
+public class LinKernighan extends CompetitorProject
+{
+	private static final int KICK_LENGTH = 50;
+	private static final double EPSILON = 1e-9;
+
+	private Random random;
+	private LinKernighanSearch linKernighan;
+	private int [] best;
+	private Tour tour;
+	private double bestLength;
+
+	/**
+	 * Méthode d'évaluation de la solution
+	 * @param evaluation
+	 * @throws InvalidProjectException
+	 */
+	public LinKernighan (Evaluation evaluation) throws InvalidProjectException
+	{
+		super (evaluation);
+		this.setMethodName ("Lin-Kernighan itéré");
+	}
+
+	@Override
+	public void initialization ()
+	{
+		this.random = new Random (this.getSeed ());
+		this.linKernighan = new LinKernighanSearch (this.problem);
+		this.best = new int [this.problem.getLength ()];
+		new GreedyEdgeConstruction (this.problem).construct (this.best, this.random);
+		this.tour = Tour.of (this.best.clone ());
+		new LocalSearchChain (this.linKernighan, new OrOpt (this.problem)).optimize (this.tour);
+		this.tour.toPath (this.best);
+		this.bestLength = this.evaluation.pathLength (this.best);
+		this.evaluation.evaluate (new Path (this.best.clone ()));
+	}
+
+	@Override
+	public void loop ()
+	{
+		double length = this.bestLength + this.linKernighan.doubleBridge (this.tour, this.random, KICK_LENGTH);
+		length -= this.linKernighan.improve (this.tour);
+		if (length < this.bestLength - EPSILON)
+		{
+			this.tour.toPath (this.best);
+			this.bestLength = this.evaluation.pathLength (this.best);
+			this.evaluation.evaluate (new Path (this.best.clone ()));
+		}
+		else if (length > this.bestLength + EPSILON)
+			this.tour.load (this.best);
+	}
+}
@@ -0,0 +1,227 @@
+package tsp.projects.mmas;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import tsp.aco.CandidatePheromones;
+import tsp.evaluation.CandidateLists;
+import tsp.evaluation.Evaluation;
+import tsp.evaluation.Path;
+import tsp.localsearch.TwoOpt;
+import tsp.projects.CompetitorProject;
+import tsp.projects.InvalidProjectException;
+
+/**
+ * MAX-MIN Ant System : seule la meilleure tournée trouvée dépose des phéromones,
+ * bornées entre τmin et τmax, et chaque fourmi est améliorée par 2-opt
+ * Le produit τ^α·η^β est précalculé sur les listes de candidats une fois par itération :
+ * la construction ne fait qu'une roulette sur des tableaux primitifs, sans aucun calcul de puissance
+ */
+public class MaxMinAntSystem extends CompetitorProject
+{
+	private static final int NB_ANTS = 25;
+	private static final double ALPHA = 1;
+	private static final double BETA = 2;
+	private static final double RHO = 0.02;
+	private static final double P_BEST = 0.05;
+	private static final int RESTART_ITERATIONS = 250;
+
+	private Random random;
+	private CandidateLists candidates;
+	private CandidatePheromones pheromones;
+	private TwoOpt twoOpt;
+	private int length;
+	private int size;
+	private double [] heuristic;
+	private double [] choiceInfo;
+	private double [] weights;
+	private int [] visited;
+	private int stamp;
+	private int [][] ants;
+	private int [] best;
+	private double bestLength;
+	private double tauMin;
+	private double tauMax;
+	private int stagnation;
+
+	/**
+	 * Méthode d'évaluation de la solution
+	 * @param evaluation
+	 * @throws InvalidProjectException
+	 */
+	public MaxMinAntSystem (Evaluation evaluation) throws InvalidProjectException
+	{
+		super (evaluation);
+		this.setMethodName ("MAX-MIN Ant System");
+	}
+
+	@Override
+	public void initialization ()
+	{
+		this.random = new Random (this.getSeed ());
+		this.length = this.problem.getLength ();
+		this.candidates = this.problem.getCandidateLists ();
+		this.size = this.candidates.getSize ();
+		this.twoOpt = new TwoOpt (this.problem);
+		this.heuristic = new double [this.length * this.size];
+		this.choiceInfo = new double [this.length * this.size];
+		for (int i = 0; i < this.length; i++)
+			for (int rank = 0; rank < this.size; rank++)
+				this.heuristic [i * this.size + rank] = Math.pow (1 / Math.max (this.problem.distance (i, this.candidates.get (i, rank)), Double.MIN_NORMAL), MaxMinAntSystem.BETA);
+		this.weights = new double [this.size];
+		this.visited = new int [this.length];
+		this.stamp = 0;
+		this.ants = new int [MaxMinAntSystem.NB_ANTS][this.length];
+		// Tournée initiale gloutonne : fixe les bornes et la valeur initiale des phéromones
+		this.best = new int [this.length];
+		this.construct (this.best, true);
+		this.twoOpt.optimize (this.best);
+		this.bestLength = this.evaluation.pathLength (this.best);
+		this.evaluation.evaluate (new Path (this.best.clone ()));
+		this.updateBounds ();
+		this.pheromones = new CandidatePheromones (this.problem, this.tauMax);
+		this.updateChoiceInfo ();
+		this.stagnation = 0;
+	}
+
+	@Override
+	public void loop ()
+	{
+		boolean improved = false;
+		for (int [] ant: this.ants)
+		{
+			this.construct (ant, false);
+			this.twoOpt.optimize (ant);
+			double length = this.evaluation.pathLength (ant);
+			if (length < this.bestLength)
+			{
+				this.bestLength = length;
+				System.arraycopy (ant, 0, this.best, 0, this.length);
+				improved = true;
+			}
+		}
+		if (improved)
+		{
+			this.evaluation.evaluate (new Path (this.best.clone ()));
+			this.updateBounds ();
+			this.stagnation = 0;
+		}
+		else if (++this.stagnation >= MaxMinAntSystem.RESTART_ITERATIONS)
+		{
+			this.pheromones.reset (this.tauMax);
+			this.stagnation = 0;
+		}
+		this.pheromones.evaporate (MaxMinAntSystem.RHO);
+		double deposit = 1 / this.bestLength;
+		for (int i = 0; i < this.length; i++)
+			this.pheromones.deposit (this.best [i], this.best [(i + 1) % this.length], deposit);
+		this.pheromones.clamp (this.tauMin, this.tauMax);
+		this.updateChoiceInfo ();
+	}
+
+	/**
+	 * τmax = 1 / (ρ·L*) et τmin tel que la meilleure tournée soit reconstruite avec une probabilité P_BEST
+	 * une fois les phéromones convergées
+	 */
+	private void updateBounds ()
+	{
+		this.tauMax = 1 / (MaxMinAntSystem.RHO * this.bestLength);
+		double root = Math.pow (MaxMinAntSystem.P_BEST, 1.0 / this.length);
+		double average = Math.max (1, this.size / 2.0);
+		this.tauMin = Math.min (this.tauMax, this.tauMax * (1 - root) / ((average - 1) * root));
+	}
+
+	/**
+	 * Seul endroit où α et β interviennent : une fois par itération, en O(nk)
+	 */
+	private void updateChoiceInfo ()
+	{
+		for (int i = 0; i < this.length; i++)
+			for (int rank = 0; rank < this.size; rank++)
+			{
+				double tau = this.pheromones.get (i, rank);
+				if (MaxMinAntSystem.ALPHA != 1)
+					tau = Math.pow (tau, MaxMinAntSystem.ALPHA);
+				this.choiceInfo [i * this.size + rank] = tau * this.heuristic [i * this.size + rank];
+			}
+	}
+
+	/**
+	 * Construit une tournée : roulette sur les candidats non visités, sinon plus proche "ville" non visitée
+	 * @param tour Tableau à remplir
+	 * @param greedy Choisit toujours le meilleur candidat (plus proche voisin) au lieu de la roulette
+	 */
+	private void construct (int [] tour, boolean greedy)
+	{
+		if (++this.stamp == Integer.MAX_VALUE)
+		{
+			Arrays.fill (this.visited, 0);
+			this.stamp = 1;
+		}
+		int current = this.random.nextInt (this.length);
+		tour [0] = current;
+		this.visited [current] = this.stamp;
+		for (int step = 1; step < this.length; step++)
+		{
+			int next = greedy ? this.nearestCandidate (current) : this.rouletteCandidate (current);
+			if (next < 0)
+				next = this.nearestUnvisited (current);
+			tour [step] = next;
+			this.visited [next] = this.stamp;
+			current = next;
+		}
+	}
+
+	private int nearestCandidate (int city)
+	{
+		for (int rank = 0; rank < this.size; rank++)
+		{
+			int candidate = this.candidates.get (city, rank);
+			if (this.visited [candidate] != this.stamp)
+				return candidate;
+		}
+		return -1;
+	}
+
+	private int rouletteCandidate (int city)
+	{
+		int offset = city * this.size;
+		double sum = 0;
+		for (int rank = 0; rank < this.size; rank++)
+		{
+			double weight = this.visited [this.candidates.get (city, rank)] == this.stamp ? 0 : this.choiceInfo [offset + rank];
+			this.weights [rank] = weight;
+			sum += weight;
+		}
+		if (sum <= 0)
+			return -1;
+		double target = this.random.nextDouble () * sum;
+		int last = -1;
+		for (int rank = 0; rank < this.size; rank++)
+			if (this.weights [rank] > 0)
+			{
+				last = rank;
+				target -= this.weights [rank];
+				if (target <= 0)
+					break;
+			}
+		return this.candidates.get (city, last);
+	}
+
+	private int nearestUnvisited (int city)
+	{
+		int nearest = -1;
+		double min = Double.MAX_VALUE;
+		for (int other = 0; other < this.length; other++)
+			if (this.visited [other] != this.stamp)
+			{
+				double distance = this.problem.distance (city, other);
+				if (distance < min)
+				{
+					min = distance;
+					nearest = other;
+				}
+			}
+		return nearest;
+	}
+}
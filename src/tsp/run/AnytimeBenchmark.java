@@ -0,0 +1,222 @@
+package tsp.run;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import tsp.evaluation.EvaluationListener;
+import tsp.output.OutputWriter;
+
+/**
+ * Mesure de la qualité dans le temps (anytime) : pour chaque projet et chaque problème,
+ * temps nécessaire pour atteindre des cibles de qualité (écart à une référence) et qualité à des instants fixes
+ * Les temps d'atteinte de chaque cible sur toutes les exécutions forment la distribution empirique
+ * des temps d'exécution (RTD)
+ * La référence d'un problème est la meilleure valeur connue, ou à défaut (ou si elle est battue)
+ * la meilleure valeur observée sur toutes les exécutions de tous les projets
+ */
+public final class AnytimeBenchmark
+{
+	private static final double [] TARGETS = {10, 5, 2};
+	private static final int [] CHECKPOINTS = {1, 5, 10, 30, 60};
+	private static final Map <String, Double> BEST_KNOWN = Map.of (
+		"bier127", 118293.52381566969,
+		"pr2048", 4094.0);
+	private static final String RTD_FILE = "rtd.csv";
+	private static final String QUALITY_FILE = "qualite.csv";
+
+	/**
+	 * Enregistre les améliorations d'une exécution (instant et meilleure évaluation)
+	 * Peut être partagé par plusieurs instances d'un même projet : seules les améliorations
+	 * de la meilleure évaluation de toutes les instances sont conservées
+	 */
+	private static final class Recorder implements EvaluationListener
+	{
+		private final long start;
+		private double best;
+		private long [] times;
+		private double [] bests;
+		private int size;
+
+		private Recorder ()
+		{
+			this.start = System.nanoTime ();
+			this.best = Double.MAX_VALUE;
+			this.times = new long [16];
+			this.bests = new double [16];
+			this.size = 0;
+		}
+
+		@Override
+		public void evaluated (double current, double best)
+		{
+		}
+
+		@Override
+		public synchronized void improved (int [] path, double evaluation)
+		{
+			if (evaluation >= this.best)
+				return;
+			this.best = evaluation;
+			if (this.size == this.times.length)
+			{
+				this.times = Arrays.copyOf (this.times, 2 * this.size);
+				this.bests = Arrays.copyOf (this.bests, 2 * this.size);
+			}
+			this.times [this.size] = System.nanoTime () - this.start;
+			this.bests [this.size++] = evaluation;
+		}
+
+		/**
+		 * @return Temps (en secondes) pour atteindre la valeur, -1 si elle n'a jamais été atteinte
+		 */
+		private synchronized double timeTo (double value)
+		{
+			for (int i = 0; i < this.size; i++)
+				if (this.bests [i] <= value)
+					return this.times [i] / 1e9;
+			return -1;
+		}
+
+		/**
+		 * @return Meilleure évaluation à l'instant donné (en secondes), Double.MAX_VALUE si aucune
+		 */
+		private synchronized double bestAt (double seconds)
+		{
+			double best = Double.MAX_VALUE;
+			for (int i = 0; i < this.size && this.times [i] / 1e9 <= seconds; i++)
+				best = this.bests [i];
+			return best;
+		}
+
+		private synchronized double getBest ()
+		{
+			return this.best;
+		}
+	}
+
+	private final int [] checkpoints;
+	private final LinkedHashMap <String, LinkedHashMap <String, ArrayList <Recorder>>> runs;
+
+	/**
+	 * Constructeur
+	 * @param nbSeconds Durée d'une exécution : les instants de mesure au-delà sont ignorés
+	 */
+	public AnytimeBenchmark (int nbSeconds)
+	{
+		this.checkpoints = Arrays.stream (AnytimeBenchmark.CHECKPOINTS).filter (checkpoint -> checkpoint <= nbSeconds).toArray ();
+		this.runs = new LinkedHashMap <String, LinkedHashMap <String, ArrayList <Recorder>>> ();
+	}
+
+	/**
+	 * Nouvelle exécution : l'observateur est à ajouter à l'évaluation (ou aux évaluations) de l'exécution
+	 * @param project Le nom du projet
+	 * @param problem Le nom du problème
+	 * @return L'observateur qui enregistre les améliorations
+	 */
+	public EvaluationListener newRun (String project, String problem)
+	{
+		Recorder recorder = new Recorder ();
+		this.runs.computeIfAbsent (project, p -> new LinkedHashMap <String, ArrayList <Recorder>> ())
+			.computeIfAbsent (problem, p -> new ArrayList <Recorder> ()).add (recorder);
+		return recorder;
+	}
+
+	private double reference (String problem)
+	{
+		double reference = AnytimeBenchmark.BEST_KNOWN.getOrDefault (problem, Double.MAX_VALUE);
+		for (LinkedHashMap <String, ArrayList <Recorder>> problems: this.runs.values ())
+			for (Recorder recorder: problems.getOrDefault (problem, new ArrayList <Recorder> ()))
+				reference = Math.min (reference, recorder.getBest ());
+		return reference;
+	}
+
+	private static double median (double [] values)
+	{
+		if (values.length == 0)
+			return Double.NaN;
+		double [] sorted = values.clone ();
+		Arrays.sort (sorted);
+		int n = sorted.length;
+		return n % 2 == 1 ? sorted [n / 2] : (sorted [n / 2 - 1] + sorted [n / 2]) / 2;
+	}
+
+	private static String format (double value)
+	{
+		return String.format ("%.3f", value);
+	}
+
+	/**
+	 * Affiche les résultats et les écrit dans deux fichiers CSV (RTD et qualité aux instants de mesure)
+	 * @param writer Sortie des résultats (sortie standard et journal)
+	 * @param directory Répertoire des fichiers CSV
+	 */
+	public void report (OutputWriter writer, String directory)
+	{
+		File dir = new File (directory);
+		dir.mkdirs ();
+		try (BufferedWriter rtd = new BufferedWriter (new FileWriter (new File (dir, AnytimeBenchmark.RTD_FILE)));
+			BufferedWriter quality = new BufferedWriter (new FileWriter (new File (dir, AnytimeBenchmark.QUALITY_FILE))))
+		{
+			rtd.write ("projet,probleme,cible,execution,temps\n");
+			quality.write ("projet,probleme,execution,instant,meilleure,ecart\n");
+			writer.println ("Qualité dans le temps (écart à la référence, en %)");
+			for (Map.Entry <String, LinkedHashMap <String, ArrayList <Recorder>>> project: this.runs.entrySet ())
+			{
+				writer.println (project.getKey ());
+				for (Map.Entry <String, ArrayList <Recorder>> problem: project.getValue ().entrySet ())
+				{
+					double reference = this.reference (problem.getKey ());
+					ArrayList <Recorder> recorders = problem.getValue ();
+					writer.println (problem.getKey () + "\tréférence " + reference
+						+ (AnytimeBenchmark.BEST_KNOWN.containsKey (problem.getKey ()) && AnytimeBenchmark.BEST_KNOWN.get (problem.getKey ()) <= reference ? " (connue)" : " (observée)"));
+					String line = "\técart médian :";
+					for (int checkpoint: this.checkpoints)
+					{
+						double [] gaps = new double [recorders.size ()];
+						for (int r = 0; r < recorders.size (); r++)
+						{
+							double best = recorders.get (r).bestAt (checkpoint);
+							gaps [r] = best == Double.MAX_VALUE ? Double.POSITIVE_INFINITY : 100 * (best - reference) / reference;
+							quality.write (project.getKey () + "," + problem.getKey () + "," + (r + 1) + "," + checkpoint + ","
+								+ (best == Double.MAX_VALUE ? "" : Double.toString (best)) + "," + (best == Double.MAX_VALUE ? "" : Double.toString (gaps [r])) + "\n");
+						}
+						line += " " + checkpoint + " s " + AnytimeBenchmark.format (AnytimeBenchmark.median (gaps)) + ",";
+					}
+					writer.println (line.substring (0, line.length () - 1));
+					for (double target: AnytimeBenchmark.TARGETS)
+					{
+						double value = reference * (1 + target / 100);
+						ArrayList <Double> reached = new ArrayList <Double> ();
+						for (int r = 0; r < recorders.size (); r++)
+						{
+							double time = recorders.get (r).timeTo (value);
+							rtd.write (project.getKey () + "," + problem.getKey () + "," + target + "," + (r + 1) + "," + (time < 0 ? "" : Double.toString (time)) + "\n");
+							if (time >= 0)
+								reached.add (time);
+						}
+						double [] times = reached.stream ().mapToDouble (Double::doubleValue).sorted ().toArray ();
+						String rtdLine = "\tcible " + target + " % : " + times.length + "/" + recorders.size ();
+						if (times.length > 0)
+						{
+							rtdLine += ", temps médian " + AnytimeBenchmark.format (AnytimeBenchmark.median (times)) + " s, RTD";
+							for (double time: times)
+								rtdLine += " " + AnytimeBenchmark.format (time);
+						}
+						writer.println (rtdLine);
+					}
+				}
+				writer.print ();
+			}
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace ();
+		}
+	}
+}
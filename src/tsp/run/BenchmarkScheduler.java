@@ -0,0 +1,188 @@
+package tsp.run;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import tsp.evaluation.Evaluation;
+import tsp.evaluation.Metrics;
+import tsp.evaluation.Problem;
+import tsp.evaluation.Solution;
+import tsp.output.TraceWriter;
+import tsp.projects.Project;
+
+/**
+ * Exécution en parallèle de la matrice (projet, problème, exécution)
+ * Chaque exécution est isolée : classes du projet chargées à part (champs statiques propres),
+ * évaluation sans graphique (les graphiques sont des singletons d'affichage),
+ * sortie standard redirigée par thread au lieu de remplacer System.out,
+ * trace de convergence propre à chaque exécution (comme Main.exec)
+ * Les solutions sont moyennées par (projet, problème) comme dans Main.exec, dans le même ordre ;
+ * les mesures de chaque exécution sont conservées à part (getMetrics)
+ */
+public final class BenchmarkScheduler
+{
+	private final int nbThreads;
+	private final int nbRuns;
+	private final int nbSeconds;
+	private final int await;
+	private final boolean displayStdOut;
+	private final boolean trace;
+	private ArrayList <ArrayList <ArrayList <Metrics>>> metrics;
+
+	/**
+	 * Constructeur
+	 * @param nbThreads Nombre d'exécutions simultanées
+	 * @param nbRuns Nombre d'exécutions par couple (projet, problème)
+	 * @param nbSeconds Temps alloué à chaque exécution
+	 * @param await Temps d'attente maximal (en minutes) pour l'arrêt d'une exécution
+	 * @param displayStdOut Indique si les affichages des projets sont conservés
+	 * @param trace Indique si la convergence de chaque exécution est enregistrée
+	 */
+	public BenchmarkScheduler (int nbThreads, int nbRuns, int nbSeconds, int await, boolean displayStdOut, boolean trace)
+	{
+		this.nbThreads = nbThreads;
+		this.nbRuns = nbRuns;
+		this.nbSeconds = nbSeconds;
+		this.await = await;
+		this.displayStdOut = displayStdOut;
+		this.trace = trace;
+		this.metrics = new ArrayList <ArrayList <ArrayList <Metrics>>> ();
+	}
+
+	/**
+	 * Exécute tous les projets sur tous les problèmes
+	 * @param subClasses Les classes des projets
+	 * @param problems Les problèmes
+	 * @return Pour chaque projet, la solution moyenne sur chaque problème (null si toutes les exécutions ont échoué)
+	 */
+	public ArrayList <ArrayList <Solution>> run (List <Class <? extends Project>> subClasses, List <Problem> problems) throws InterruptedException
+	{
+		PrintStream out = System.out;
+		ThreadRoutingOutputStream routing = new ThreadRoutingOutputStream (this.displayStdOut ? out : OutputStream.nullOutputStream ());
+		routing.route (out);
+		System.setOut (new PrintStream (routing, true));
+		ExecutorService executor = Executors.newFixedThreadPool (this.nbThreads);
+		try
+		{
+			ArrayList <ArrayList <ArrayList <Future <Run>>>> futures = new ArrayList <ArrayList <ArrayList <Future <Run>>>> ();
+			for (Class <? extends Project> subClass: subClasses)
+			{
+				ArrayList <ArrayList <Future <Run>>> projectFutures = new ArrayList <ArrayList <Future <Run>>> ();
+				for (Problem problem: problems)
+				{
+					ArrayList <Future <Run>> runs = new ArrayList <Future <Run>> ();
+					for (int i = 0; i < this.nbRuns; i++)
+					{
+						int run = i;
+						runs.add (executor.submit (() -> this.runJob (subClass, problem, run)));
+					}
+					projectFutures.add (runs);
+				}
+				futures.add (projectFutures);
+			}
+			ArrayList <ArrayList <Solution>> results = new ArrayList <ArrayList <Solution>> ();
+			this.metrics = new ArrayList <ArrayList <ArrayList <Metrics>>> ();
+			for (ArrayList <ArrayList <Future <Run>>> projectFutures: futures)
+			{
+				ArrayList <Solution> projectResults = new ArrayList <Solution> ();
+				ArrayList <ArrayList <Metrics>> projectMetrics = new ArrayList <ArrayList <Metrics>> ();
+				for (ArrayList <Future <Run>> runs: projectFutures)
+				{
+					ArrayList <Solution> solutions = new ArrayList <Solution> ();
+					ArrayList <Metrics> runMetrics = new ArrayList <Metrics> ();
+					for (Future <Run> future: runs)
+						try
+						{
+							Run run = future.get ();
+							solutions.add (run.solution);
+							runMetrics.add (run.metrics);
+						}
+						catch (ExecutionException e)
+						{
+							e.getCause ().printStackTrace ();
+						}
+					// Aucune exécution terminée : case marquée null, les autres résultats sont conservés
+					projectResults.add (solutions.isEmpty () ? null : new Solution (solutions));
+					projectMetrics.add (runMetrics);
+				}
+				results.add (projectResults);
+				this.metrics.add (projectMetrics);
+			}
+			return results;
+		}
+		finally
+		{
+			executor.shutdownNow ();
+			System.setOut (out);
+		}
+	}
+
+	/**
+	 * @return Pour chaque projet et chaque problème, les mesures des exécutions terminées (dans l'ordre de run)
+	 */
+	public ArrayList <ArrayList <ArrayList <Metrics>>> getMetrics ()
+	{
+		return this.metrics;
+	}
+
+	/**
+	 * Une exécution, comme Main.run, mais avec ses propres classes de projet
+	 */
+	private Run runJob (Class <? extends Project> subClass, Problem problem, int run) throws Exception
+	{
+		Class <?> isolated = Class.forName (subClass.getName (), true, new ProjectClassLoader (subClass));
+		Evaluation evaluation = new Evaluation (problem, null);
+		TraceWriter trace = this.trace ? Main.newTrace (subClass, problem, run) : null;
+		try
+		{
+			if (trace != null)
+				evaluation.addListener (trace);
+			Project project = (Project) isolated.getConstructors () [0].newInstance (evaluation);
+			ExecutorService executor = Executors.newSingleThreadExecutor ();
+			Future <?> future = executor.submit (project);
+			try
+			{
+				future.get (this.nbSeconds, TimeUnit.SECONDS);
+			}
+			catch (TimeoutException e)
+			{
+			}
+			finally
+			{
+				executor.shutdownNow ();
+			}
+			Solution solution = project.getSolution ();
+			if (!executor.awaitTermination (this.await, TimeUnit.MINUTES))
+				throw new InterruptedException ("Ne peut pas tuer le thread de " + subClass.getName ());
+			return new Run (solution, evaluation.getMetrics ());
+		}
+		finally
+		{
+			if (trace != null)
+				trace.close ();
+		}
+	}
+
+	/**
+	 * Résultat d'une exécution : la solution et les mesures de son évaluation
+	 */
+	private static final class Run
+	{
+		private final Solution solution;
+		private final Metrics metrics;
+
+		private Run (Solution solution, Metrics metrics)
+		{
+			this.solution = solution;
+			this.metrics = metrics;
+		}
+	}
+}
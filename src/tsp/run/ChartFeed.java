@@ -0,0 +1,105 @@
+package tsp.run;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import tsp.evaluation.EvaluationListener;
+import tsp.evaluation.Path;
+
+/**
+ * Alimentation des graphiques par échantillonnage
+ * Le solveur ne fait que mémoriser la dernière évaluation et le dernier meilleur chemin,
+ * un thread d'arrière-plan les transmet aux graphiques à intervalle régulier :
+ * les évaluations intermédiaires sont fusionnées et l'affichage ne ralentit jamais le solveur
+ */
+public final class ChartFeed implements EvaluationListener
+{
+	private static final long PERIOD = 100;
+
+	private static ChartFeed instance = null;
+
+	private final MonitorChart monitorChart;
+	private final PathChart pathChart;
+	private final ScheduledExecutorService sampler;
+	private final AtomicReference <int []> path;
+	private volatile double current;
+	private volatile double best;
+	private volatile boolean updated;
+
+	/**
+	 * @return L'instance courante (null en mode sans affichage)
+	 */
+	public static ChartFeed getInstance ()
+	{
+		if (!Main.isDisplayChart ())
+			return null;
+		if (ChartFeed.instance == null)
+			ChartFeed.instance = new ChartFeed (MonitorChart.getInstance (), PathChart.getInstance ());
+		return ChartFeed.instance;
+	}
+
+	/**
+	 * Arrête l'instance courante et en crée une nouvelle
+	 * @param monitorChart Graphique de l'évaluation dans le temps
+	 * @param pathChart Graphique du meilleur chemin
+	 * @return La nouvelle instance (null en mode sans affichage)
+	 */
+	public static ChartFeed getNewInstance (MonitorChart monitorChart, PathChart pathChart)
+	{
+		if (ChartFeed.instance != null)
+			ChartFeed.instance.close ();
+		ChartFeed.instance = Main.isDisplayChart () ? new ChartFeed (monitorChart, pathChart) : null;
+		return ChartFeed.instance;
+	}
+
+	private ChartFeed (MonitorChart monitorChart, PathChart pathChart)
+	{
+		this.monitorChart = monitorChart;
+		this.pathChart = pathChart;
+		this.path = new AtomicReference <int []> ();
+		this.updated = false;
+		this.sampler = Executors.newSingleThreadScheduledExecutor (runnable ->
+		{
+			Thread thread = new Thread (runnable, "chart-feed");
+			thread.setDaemon (true);
+			return thread;
+		});
+		this.sampler.scheduleAtFixedRate (this::sample, ChartFeed.PERIOD, ChartFeed.PERIOD, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void evaluated (double current, double best)
+	{
+		this.current = current;
+		this.best = best;
+		this.updated = true;
+	}
+
+	@Override
+	public void improved (int [] path, double evaluation)
+	{
+		this.path.set (path);
+	}
+
+	private void sample ()
+	{
+		if (this.updated)
+		{
+			this.updated = false;
+			this.monitorChart.addData (this.current, this.best);
+		}
+		int [] path = this.path.getAndSet (null);
+		if (path != null)
+			this.pathChart.changePath (new Path (path));
+	}
+
+	/**
+	 * Arrête l'échantillonnage
+	 */
+	public void close ()
+	{
+		this.sampler.shutdownNow ();
+	}
+}
@@ -1,5 +1,7 @@
 package tsp.run;
 
+import java.awt.GraphicsEnvironment;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
@@ -21,8 +23,11 @@ import org.reflections.Reflections;
 import javassist.Modifier;
 import tsp.output.LogFileOutput;
 import tsp.output.StandardOutput;
+import tsp.output.TraceWriter;
 import tsp.output.OutputWriter;
 import tsp.evaluation.Evaluation;
+import tsp.evaluation.EvaluationListener;
+import tsp.evaluation.Metrics;
 import tsp.evaluation.Problem;
 import tsp.evaluation.Solution;
 import tsp.projects.CompetitorProject;
@@ -42,8 +47,21 @@ public final class Main extends OutputWriter
 	private static final int NB_RUNS = 1;
 //	private static final int NB_RUNS = 10;
 	private static final int NB_SECONDS = 60;
+	private static final int NB_INSTANCES = 1;
+//	private static final int NB_INSTANCES = Runtime.getRuntime ().availableProcessors ();
+	private static final int NB_PARALLEL_JOBS = 1;
+//	private static final int NB_PARALLEL_JOBS = Runtime.getRuntime ().availableProcessors ();
 	static final boolean DISPLAY_CHART = true;
 //	static final boolean DISPLAY_CHART = false;
+	private static final boolean TRACE = false;
+//	private static final boolean TRACE = true;
+	private static final String TRACE_DIRECTORY = "traces";
+	private static final boolean ANYTIME = false;
+//	private static final boolean ANYTIME = true;
+	private static final String ANYTIME_DIRECTORY = "anytime";
+	private static final String HEADLESS_PROPERTY = "tsp.headless";
+	private static final String HEADLESS_ARGUMENT = "--headless";
+	private static boolean headless = Boolean.getBoolean (Main.HEADLESS_PROPERTY) || GraphicsEnvironment.isHeadless ();
 //	static final boolean DISPLAY_STD_OUT = true;
 	static final boolean DISPLAY_STD_OUT = false;
 //	static final boolean COMPETITION = true;
@@ -59,13 +77,30 @@ public final class Main extends OutputWriter
 		return Main.instance;
 	}
 	
+	private ArrayList <String> details = new ArrayList <String> ();
+	private AnytimeBenchmark anytime = null;
+	
 	private Main ()
 	{
 	}
 	
-	private static Solution run (Class <?> subClass, Problem problem) throws InterruptedException, ExecutionException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, SecurityException
+	/**
+	 * Mode sans affichage : DISPLAY_CHART à false, propriété système tsp.headless,
+	 * argument --headless ou environnement sans écran (java.awt.headless)
+	 * @return Indique si les graphiques sont affichés et alimentés
+	 */
+	static boolean isDisplayChart ()
+	{
+		return Main.DISPLAY_CHART && !Main.headless;
+	}
+	
+	private static Solution run (Class <?> subClass, Problem problem, TraceWriter trace, EvaluationListener recorder) throws InterruptedException, ExecutionException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, SecurityException
 	{
 		Evaluation evaluation = new Evaluation (problem);
+		if (trace != null)
+			evaluation.addListener (trace);
+		if (recorder != null)
+			evaluation.addListener (recorder);
 		Project project = (Project) subClass.getConstructors () [0].newInstance (evaluation);
 		ExecutorService executor = Executors.newSingleThreadExecutor();
 		Future <?> future = executor.submit (project);
@@ -91,9 +126,37 @@ public final class Main extends OutputWriter
 				System.exit (0);
 			}
 		}
+		Main.getInstance ().details.add (evaluation.getMetrics ().toString ());
+		return solution;
+	}
+	
+	private static Solution runInstances (Class <?> subClass, Problem problem, TraceWriter trace, EvaluationListener recorder) throws InterruptedException, ExecutionException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, SecurityException
+	{
+		if (!Main.DISPLAY_STD_OUT)
+		{
+			PrintStream stream = new PrintStream (new OutputStream () {@Override public void write (int b) throws IOException {}}); 
+			System.setOut (stream);
+		}
+		ParallelRunner runner = new ParallelRunner (subClass, problem, Main.NB_INSTANCES, Main.NB_SECONDS);
+		runner.setListener (trace);
+		runner.setSharedListener (recorder);
+		Solution solution = runner.run ();
+		Main.getInstance ().details.add (ParallelRunner.describe (runner.getEvaluations ()) + ", meilleure graine " + runner.getBestSeed ());
+		Main.getInstance ().details.add (runner.getBestMetrics ().toString ());
 		return solution;
 	}
 	
+	/**
+	 * Trace de convergence d'une exécution : TRACE_DIRECTORY/projet-problème-exécution.csv
+	 */
+	static TraceWriter newTrace (Class <?> subClass, Problem problem, int run) throws IOException
+	{
+		File directory = new File (Main.TRACE_DIRECTORY);
+		directory.mkdirs ();
+		String name = subClass.getSimpleName () + "-" + problem.getName () + "-" + (run + 1) + ".csv";
+		return new TraceWriter (new File (directory, name).getPath ());
+	}
+	
 	/**
 	 * @param subClass La classe du projet à évaluer
 	 * @param problem Le problème TSP à résoudre
@@ -107,8 +170,8 @@ public final class Main extends OutputWriter
 			try
 			{
 				String title = subClass.toString() + " (" + (i + 1) + ")";
-				MonitorChart.getNewInstance (title);
-				PathChart.getNewInstance (problem);
+				if (Main.isDisplayChart ())
+					ChartFeed.getNewInstance (MonitorChart.getNewInstance (title), PathChart.getNewInstance (problem));
 				Field fields [] = subClass.getDeclaredFields();
 				for (int j = 0; j < fields.length; j++)
 				{
@@ -139,7 +202,21 @@ public final class Main extends OutputWriter
 							fields [j].set (null, null);
 					}
 				}
-				solutions.add (Main.run (subClass, problem));
+				TraceWriter trace = Main.TRACE ? Main.newTrace (subClass, problem, i) : null;
+				AnytimeBenchmark anytime = Main.getInstance ().anytime;
+				EvaluationListener recorder = anytime == null ? null : anytime.newRun (subClass.getName (), problem.getName ());
+				try
+				{
+					if (Main.NB_INSTANCES > 1)
+						solutions.add (Main.runInstances (subClass, problem, trace, recorder));
+					else
+						solutions.add (Main.run (subClass, problem, trace, recorder));
+				}
+				finally
+				{
+					if (trace != null)
+						trace.close ();
+				}
 			}
 			catch (Exception e)
 			{
@@ -202,6 +279,11 @@ public final class Main extends OutputWriter
 		else
 			this.println ("");
 		this.print ();
+		// Le mode anytime enregistre chaque exécution : uniquement en séquentiel
+		this.anytime = Main.ANYTIME ? new AnytimeBenchmark (Main.NB_SECONDS) : null;
+		if (Main.NB_PARALLEL_JOBS > 1 && this.anytime == null)
+			this.launchParallel (subClasses, problems, maxLength, solutions);
+		else
 		for (Class<? extends Project> subClass : subClasses)
 		{
 			this.println (subClass.getName ());
@@ -211,8 +293,11 @@ public final class Main extends OutputWriter
 				this.print (problem.getName ());
 				for (int j = problem.getName ().length(); j < maxLength; j++)
 					this.print (" ");
+				this.details.clear ();
 				Solution solution = Main.exec (subClass, problem);
 				this.println ("\t" + solution.getEvaluation ());
+				for (String detail: this.details)
+					this.println ("\t" + detail);
 				solutions.get (i).add (solution);
 			}
 			this.print ();
@@ -224,15 +309,67 @@ public final class Main extends OutputWriter
 			this.println (solution);
 			this.print ();
 		}
+		if (this.anytime != null)
+			this.anytime.report (this, Main.ANYTIME_DIRECTORY);
+	}
+
+	/**
+	 * Toutes les exécutions (projet, problème) en parallèle, sans graphique
+	 * Les résultats sont affichés et regroupés dans le même ordre qu'en séquentiel
+	 */
+	private void launchParallel (ArrayList <Class <? extends Project>> subClasses, ArrayList <Problem> problems, int maxLength, ArrayList <ArrayList <Solution>> solutions)
+	{
+		BenchmarkScheduler scheduler = new BenchmarkScheduler (Main.NB_PARALLEL_JOBS, Main.NB_RUNS, Main.NB_SECONDS, Main.AWAIT, Main.DISPLAY_STD_OUT, Main.TRACE);
+		ArrayList <ArrayList <Solution>> results;
+		try
+		{
+			results = scheduler.run (subClasses, problems);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread ().interrupt ();
+			return;
+		}
+		for (int p = 0; p < subClasses.size (); p++)
+		{
+			this.println (subClasses.get (p).getName ());
+			boolean complete = true;
+			for (int i = 0; i <  problems.size (); i++)
+			{
+				Problem problem = problems.get (i);
+				this.print (problem.getName ());
+				for (int j = problem.getName ().length(); j < maxLength; j++)
+					this.print (" ");
+				Solution solution = results.get (p).get (i);
+				if (solution == null)
+				{
+					this.println ("\téchec (aucune exécution terminée)");
+					complete = false;
+					continue;
+				}
+				this.println ("\t" + solution.getEvaluation ());
+				for (Metrics metrics: scheduler.getMetrics ().get (p).get (i))
+					this.println ("\t" + metrics);
+			}
+			// Un projet sans résultat sur un problème est écarté de l'agrégation (les listes doivent rester alignées)
+			if (complete)
+				for (int i = 0; i <  problems.size (); i++)
+					solutions.get (i).add (results.get (p).get (i));
+			this.print ();
+		}
 	}
 
 	/**
-	 * @param args
+	 * @param args --headless pour lancer sans affichage graphique
 	 */
 	public static void main (String [] args)
 	{
+		for (String arg: args)
+			if (arg.equals (Main.HEADLESS_ARGUMENT))
+				Main.headless = true;
 		Main main = Main.getInstance ();
-		MainFrame.getInstance();
+		if (Main.isDisplayChart ())
+			MainFrame.getInstance();
 		main.addOutput (StandardOutput.getInstance ());
 		main.addOutput (new LogFileOutput (Main.LOG_FILE));
 		main.launch ();
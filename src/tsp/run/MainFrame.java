@@ -15,7 +15,7 @@ public class MainFrame extends JFrame
         this.setSize(600, 800);
         this.setLocationRelativeTo (null);
         this.setDefaultCloseOperation (JFrame.EXIT_ON_CLOSE);
-        this.setVisible (Main.DISPLAY_CHART);
+        this.setVisible (Main.isDisplayChart ());
 	}
 	
 	public static MainFrame getInstance ()
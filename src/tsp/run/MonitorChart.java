@@ -44,7 +44,7 @@ public class MonitorChart
 	
 	private MonitorChart (String title)
 	{
-		if (Main.DISPLAY_CHART)
+		if (Main.isDisplayChart ())
 		{
 			this.bestEvaluation = new TimeSeries ("Best evaluation");
 			this.currentEvaluation = new TimeSeries ("Current evaluation");
@@ -65,9 +65,9 @@ public class MonitorChart
 	 * @param current Évaluation de la solution courante
 	 * @param best Évaluation de la meilleure solution
 	 */
-	public void addData (double current, double best)
+	public synchronized void addData (double current, double best)
 	{
-		if (Main.DISPLAY_CHART)
+		if (Main.isDisplayChart ())
 		{
 			try
 			{
@@ -0,0 +1,170 @@
+package tsp.run;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import tsp.evaluation.Evaluation;
+import tsp.evaluation.EvaluationListener;
+import tsp.evaluation.Metrics;
+import tsp.evaluation.Problem;
+import tsp.evaluation.Solution;
+import tsp.projects.Project;
+
+/**
+ * Exécution multi-départs : plusieurs instances indépendantes d'un même projet sur un même problème,
+ * chacune sur son propre thread, avec sa propre évaluation et sa propre graine
+ * Seule la première instance alimente l'affichage graphique
+ */
+public final class ParallelRunner
+{
+	private Class <?> subClass;
+	private Problem problem;
+	private int nbInstances;
+	private int nbSeconds;
+	private long [] seeds;
+	private double [] evaluations;
+	private Solution best;
+	private long bestSeed;
+	private Metrics bestMetrics;
+	private EvaluationListener listener;
+	private EvaluationListener sharedListener;
+
+	/**
+	 * Constructeur
+	 * @param subClass La classe du projet à évaluer
+	 * @param problem Le problème TSP à résoudre
+	 * @param nbInstances Nombre d'instances lancées en parallèle
+	 * @param nbSeconds Temps alloué à chaque instance
+	 */
+	public ParallelRunner (Class <?> subClass, Problem problem, int nbInstances, int nbSeconds)
+	{
+		this.subClass = subClass;
+		this.problem = problem;
+		this.nbInstances = nbInstances;
+		this.nbSeconds = nbSeconds;
+		this.seeds = new long [nbInstances];
+		SplittableRandom random = new SplittableRandom ();
+		for (int i = 0; i < nbInstances; i++)
+			this.seeds [i] = random.nextLong ();
+	}
+
+	/**
+	 * @param listener Observateur ajouté à l'évaluation de la première instance (trace de convergence)
+	 */
+	public void setListener (EvaluationListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * @param listener Observateur ajouté aux évaluations de toutes les instances
+	 */
+	public void setSharedListener (EvaluationListener listener)
+	{
+		this.sharedListener = listener;
+	}
+
+	/**
+	 * Lance toutes les instances et attend la fin du temps alloué
+	 * @return La meilleure solution parmi toutes les instances
+	 */
+	public Solution run () throws InterruptedException, ExecutionException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, SecurityException
+	{
+		Project [] projects = new Project [this.nbInstances];
+		Evaluation [] evaluations = new Evaluation [this.nbInstances];
+		for (int i = 0; i < this.nbInstances; i++)
+		{
+			Evaluation evaluation = new Evaluation (this.problem, i == 0);
+			if (i == 0 && this.listener != null)
+				evaluation.addListener (this.listener);
+			if (this.sharedListener != null)
+				evaluation.addListener (this.sharedListener);
+			evaluations [i] = evaluation;
+			projects [i] = (Project) this.subClass.getConstructors () [0].newInstance (evaluation);
+			projects [i].setSeed (this.seeds [i]);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool (this.nbInstances);
+		ArrayList <Future <?>> futures = new ArrayList <Future <?>> ();
+		for (Project project: projects)
+			futures.add (executor.submit (project));
+		long deadline = System.nanoTime () + TimeUnit.SECONDS.toNanos (this.nbSeconds);
+		for (Future <?> future: futures)
+			try
+			{
+				future.get (Math.max (0, deadline - System.nanoTime ()), TimeUnit.NANOSECONDS);
+			}
+			catch (TimeoutException e)
+			{
+			}
+		executor.shutdownNow ();
+		if (!executor.awaitTermination (1, TimeUnit.MINUTES))
+			throw new InterruptedException ("Ne peut pas tuer les threads");
+		this.evaluations = new double [this.nbInstances];
+		for (int i = 0; i < this.nbInstances; i++)
+		{
+			Solution solution = projects [i].getSolution ();
+			this.evaluations [i] = solution.getEvaluation ();
+			if (this.best == null || solution.compareTo (this.best) < 0)
+			{
+				this.best = solution;
+				this.bestSeed = this.seeds [i];
+				this.bestMetrics = evaluations [i].getMetrics ();
+			}
+		}
+		return this.best;
+	}
+
+	/**
+	 * @return Les évaluations finales de chaque instance
+	 */
+	public double [] getEvaluations ()
+	{
+		return this.evaluations.clone ();
+	}
+
+	/**
+	 * @return Les mesures de la meilleure instance
+	 */
+	public Metrics getBestMetrics ()
+	{
+		return this.bestMetrics;
+	}
+
+	/**
+	 * @return La graine de la meilleure instance
+	 */
+	public long getBestSeed ()
+	{
+		return this.bestSeed;
+	}
+
+	/**
+	 * @param evaluations Une liste d'évaluations
+	 * @return Résumé de la distribution : meilleure, médiane, moyenne, pire et écart-type
+	 */
+	public static String describe (double [] evaluations)
+	{
+		double [] sorted = evaluations.clone ();
+		Arrays.sort (sorted);
+		int n = sorted.length;
+		double median = n % 2 == 1 ? sorted [n / 2] : (sorted [n / 2 - 1] + sorted [n / 2]) / 2;
+		double mean = 0;
+		for (double evaluation: sorted)
+			mean += evaluation;
+		mean /= n;
+		double variance = 0;
+		for (double evaluation: sorted)
+			variance += (evaluation - mean) * (evaluation - mean);
+		double deviation = n > 1 ? Math.sqrt (variance / (n - 1)) : 0;
+		return "meilleure " + sorted [0] + ", médiane " + median + ", moyenne " + mean
+			+ ", pire " + sorted [n - 1] + ", écart-type " + deviation + " (" + n + " instances)";
+	}
+}
@@ -25,6 +25,8 @@ public class PathChart
 	private static PathChart instance = null;
 	private Problem problem;
 	private XYSeries coords;
+	private double [] xs;
+	private double [] ys;
 
 	/**
 	 * @return L'instance courante
@@ -50,15 +52,22 @@ public class PathChart
 
 	private PathChart (Problem problem)
 	{
-		if (Main.DISPLAY_CHART)
+		if (Main.isDisplayChart ())
 		{
 			this.problem= problem;
 			this.coords = new XYSeries ("Path", false);
 			if (problem != null)
 			{
+				// Coordonnées copiées une seule fois : getData copie toute la matrice à chaque appel
 				double [][] data = this.problem.getData();
+				this.xs = new double [data.length];
+				this.ys = new double [data.length];
 				for (int i = 0; i < data.length; i++)
+				{
+					this.xs [i] = data [i][0];
+					this.ys [i] = data [i][1];
 					this.coords.add(data [i][0], data [i][1]);
+				}
 				this.coords.add(data [0][0], data [0][1]);
 			}
 			XYSeriesCollection xysc = new XYSeriesCollection();
@@ -83,7 +92,7 @@ public class PathChart
 	 */
 	public void changePath (Path path)
 	{
-		if (Main.DISPLAY_CHART)
+		if (Main.isDisplayChart ())
 		{
 			try
 			{
@@ -93,13 +102,14 @@ public class PathChart
 					{
 						try
 						{
-							PathChart chart = PathChart.getInstance ();
+							PathChart chart = PathChart.this;
 							chart.coords.clear ();
 							int [] p = path.getPath ();
-							double [][] data = chart.problem.getData ();
-							for (int i = 0; i < data.length; i++)
-								chart.coords.add (data [p [i]][0], data [p [i]][1]);
-							chart.coords.add (data [p [0]][0], data [p [0]][1]);
+							// Un seul événement de mise à jour pour tout le chemin
+							for (int i = 0; i < p.length; i++)
+								chart.coords.add (chart.xs [p [i]], chart.ys [p [i]], false);
+							chart.coords.add (chart.xs [p [0]], chart.ys [p [0]], false);
+							chart.coords.fireSeriesChanged ();
 						}
 						catch (Exception e)
 						{
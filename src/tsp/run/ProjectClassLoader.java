@@ -0,0 +1,70 @@
+package tsp.run;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Chargeur de classes "enfant d'abord" pour le paquetage d'un projet
+ * Chaque exécution charge sa propre copie des classes du projet : leurs champs statiques
+ * ne sont pas partagés entre exécutions simultanées et partent de leurs valeurs initiales
+ * Le reste (évaluation, classes de base des projets, bibliothèques) est délégué au chargeur parent
+ */
+final class ProjectClassLoader extends ClassLoader
+{
+	private static final String PROJECTS_PACKAGE = "tsp.projects";
+
+	private final String prefix;
+	private final boolean wholePackage;
+
+	/**
+	 * Constructeur
+	 * @param projectClass La classe du projet
+	 */
+	ProjectClassLoader (Class <?> projectClass)
+	{
+		super (projectClass.getClassLoader ());
+		// Les classes de base (Project, CompetitorProject...) sont dans tsp.projects : dans ce paquetage,
+		// seule la classe du projet et ses classes internes sont rechargées
+		String name = projectClass.getName ();
+		String packageName = projectClass.getPackageName ();
+		this.wholePackage = !packageName.equals (ProjectClassLoader.PROJECTS_PACKAGE);
+		this.prefix = this.wholePackage ? packageName + "." : name;
+	}
+
+	private boolean isIsolated (String name)
+	{
+		if (!name.startsWith (this.prefix))
+			return false;
+		if (this.wholePackage)
+			return name.indexOf ('.', this.prefix.length ()) < 0;
+		return name.length () == this.prefix.length () || name.charAt (this.prefix.length ()) == '$';
+	}
+
+	@Override
+	protected Class <?> loadClass (String name, boolean resolve) throws ClassNotFoundException
+	{
+		if (!this.isIsolated (name))
+			return super.loadClass (name, resolve);
+		synchronized (this.getClassLoadingLock (name))
+		{
+			Class <?> c = this.findLoadedClass (name);
+			if (c == null)
+			{
+				try (InputStream in = this.getParent ().getResourceAsStream (name.replace ('.', '/') + ".class"))
+				{
+					if (in == null)
+						return super.loadClass (name, resolve);
+					byte [] bytes = in.readAllBytes ();
+					c = this.defineClass (name, bytes, 0, bytes.length);
+				}
+				catch (IOException e)
+				{
+					throw new ClassNotFoundException (name, e);
+				}
+			}
+			if (resolve)
+				this.resolveClass (c);
+			return c;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package tsp.run;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Flux de sortie qui redirige chaque écriture vers le flux associé au thread qui écrit
+ * Installé une seule fois comme System.out : les exécutions simultanées n'ont plus à remplacer System.out
+ */
+final class ThreadRoutingOutputStream extends OutputStream
+{
+	private final ThreadLocal <OutputStream> target;
+
+	/**
+	 * Constructeur
+	 * @param fallback Flux des threads sans flux associé
+	 */
+	ThreadRoutingOutputStream (OutputStream fallback)
+	{
+		this.target = ThreadLocal.withInitial (() -> fallback);
+	}
+
+	/**
+	 * Associe un flux au thread courant
+	 * @param stream Le flux
+	 */
+	void route (OutputStream stream)
+	{
+		this.target.set (stream);
+	}
+
+	@Override
+	public void write (int b) throws IOException
+	{
+		this.target.get ().write (b);
+	}
+
+	@Override
+	public void write (byte [] b, int off, int len) throws IOException
+	{
+		this.target.get ().write (b, off, len);
+	}
+
+	@Override
+	public void flush () throws IOException
+	{
+		this.target.get ().flush ();
+	}
+}